@@ -0,0 +1,14 @@
+package com.throneofdust.benchmarks.load;
+
+/**
+ * What a simulated player does on one turn of its session loop.
+ */
+enum Action {
+    /** Polls player state, revalidating with the last ETag. */
+    STATE,
+    COLLECT,
+    UPGRADE,
+    RECRUIT,
+    /** Resolves a finished raid, or starts one with idle characters, or checks active raids. */
+    RAID
+}
@@ -0,0 +1,52 @@
+package com.throneofdust.benchmarks.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and outcomes of one endpoint, shared by every player thread. 4xx answers are the
+ * game refusing an action (not enough gold, roster full) and are counted apart from failures.
+ */
+final class EndpointStats {
+
+    private final Histogram latencyMicros = new ConcurrentHistogram(3);
+    private final LongAdder ok = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    void record(long nanos, int status) {
+        latencyMicros.recordValue(TimeUnit.NANOSECONDS.toMicros(nanos));
+        if (status >= 200 && status < 400) {
+            ok.increment();
+        } else if (status >= 400 && status < 500) {
+            rejected.increment();
+        } else {
+            failed.increment();
+        }
+    }
+
+    // Transport errors and timeouts have no status; their latency would only skew the histogram
+    void recordFailure() {
+        failed.increment();
+    }
+
+    Summary summarize(double seconds) {
+        long total = ok.sum() + rejected.sum() + failed.sum();
+        return new Summary(total, ok.sum(), rejected.sum(), failed.sum(), total / seconds,
+                millis(latencyMicros.getValueAtPercentile(50)),
+                millis(latencyMicros.getValueAtPercentile(90)),
+                millis(latencyMicros.getValueAtPercentile(99)),
+                millis(latencyMicros.getValueAtPercentile(99.9)),
+                millis(latencyMicros.getMaxValue()));
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    record Summary(long requests, long ok, long rejected, long failed, double perSecond,
+                   double p50Ms, double p90Ms, double p99Ms, double p999Ms, double maxMs) {}
+}
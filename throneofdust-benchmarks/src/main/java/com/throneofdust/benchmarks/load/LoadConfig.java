@@ -0,0 +1,90 @@
+package com.throneofdust.benchmarks.load;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Load run settings, given on the command line as {@code key=value} pairs, e.g.
+ * {@code players=200 duration=300 mix=state:70,collect:10,upgrade:5,recruit:5,raid:10}.
+ *
+ * @param players       concurrent simulated players, each with its own account
+ * @param rampUpSeconds players start evenly over this period, which is not measured
+ * @param durationSeconds measured period after ramp-up
+ * @param thinkTimeMs   mean pause between a player's requests (exponentially distributed)
+ * @param poolSize      Hikari maximum pool size of the application under test
+ * @param mix           relative weight of each action
+ */
+record LoadConfig(int players, int rampUpSeconds, int durationSeconds, int thinkTimeMs, int poolSize,
+                  Map<Action, Integer> mix) {
+
+    private static final Map<Action, Integer> DEFAULT_MIX = Map.of(
+            Action.STATE, 55,
+            Action.COLLECT, 15,
+            Action.UPGRADE, 10,
+            Action.RECRUIT, 8,
+            Action.RAID, 12);
+
+    LoadConfig {
+        if (players < 1 || durationSeconds < 1 || rampUpSeconds < 0 || thinkTimeMs < 0 || poolSize < 1) {
+            throw new IllegalArgumentException("players, duration and pool must be positive; rampUp and think must not be negative");
+        }
+        mix = Map.copyOf(mix);
+        if (mix.values().stream().anyMatch(w -> w < 0) || mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("mix weights must not be negative and at least one must be positive");
+        }
+    }
+
+    static LoadConfig parse(String[] args) {
+        int players = 100;
+        int rampUp = 30;
+        int duration = 120;
+        int think = 1500;
+        int pool = 10;
+        Map<Action, Integer> mix = DEFAULT_MIX;
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq < 0) throw new IllegalArgumentException("Expected key=value but got '" + arg + "'");
+            String value = arg.substring(eq + 1);
+            switch (arg.substring(0, eq)) {
+                case "players" -> players = Integer.parseInt(value);
+                case "rampUp" -> rampUp = Integer.parseInt(value);
+                case "duration" -> duration = Integer.parseInt(value);
+                case "think" -> think = Integer.parseInt(value);
+                case "pool" -> pool = Integer.parseInt(value);
+                case "mix" -> mix = parseMix(value);
+                default -> throw new IllegalArgumentException("Unknown option '" + arg.substring(0, eq) + "'");
+            }
+        }
+        return new LoadConfig(players, rampUp, duration, think, pool, mix);
+    }
+
+    // Actions left out of the mix are never chosen
+    private static Map<Action, Integer> parseMix(String value) {
+        Map<Action, Integer> mix = new EnumMap<>(Action.class);
+        for (String part : value.split(",")) {
+            String[] kv = part.split(":");
+            if (kv.length != 2) throw new IllegalArgumentException("Expected action:weight but got '" + part + "'");
+            mix.put(Action.valueOf(kv[0].trim().toUpperCase(Locale.ROOT)), Integer.parseInt(kv[1].trim()));
+        }
+        return mix;
+    }
+
+    Action pick(SplittableRandom random) {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        int roll = random.nextInt(total);
+        for (Action action : Action.values()) {
+            roll -= mix.getOrDefault(action, 0);
+            if (roll < 0) return action;
+        }
+        throw new IllegalStateException("unreachable");
+    }
+
+    long nextThinkMs(SplittableRandom random) {
+        if (thinkTimeMs == 0) return 0;
+        // Exponential pauses, capped so one unlucky draw cannot park a player for the rest of the run
+        double pause = -Math.log(1 - random.nextDouble()) * thinkTimeMs;
+        return (long) Math.min(pause, 10.0 * thinkTimeMs);
+    }
+}
@@ -0,0 +1,103 @@
+package com.throneofdust.benchmarks.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.throneofdust.throneofdust.ThroneofdustApplication;
+import com.zaxxer.hikari.HikariDataSource;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.io.File;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Boots the application on a random port against a throwaway embedded PostgreSQL, then drives
+ * it with {@link LoadConfig#players()} concurrent player sessions. Prints throughput and latency
+ * percentiles per endpoint plus connection pool saturation, and writes the same report as JSON
+ * to {@code load-report-<timestamp>.json}.
+ *
+ * <pre>mvn -B compile exec:java -Dexec.args="players=300 duration=180 pool=10"</pre>
+ *
+ * The generator runs in the application's JVM and competes with it for CPU, so it finds the
+ * point where one node degrades, not an absolute capacity figure for a dedicated host.
+ */
+public final class LoadGenerator {
+
+    private LoadGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadConfig config = LoadConfig.parse(args);
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start()) {
+            ConfigurableApplicationContext app = new SpringApplication(ThroneofdustApplication.class).run(
+                    "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                    "--spring.datasource.username=postgres",
+                    "--spring.datasource.password=",
+                    "--spring.datasource.hikari.maximum-pool-size=" + config.poolSize(),
+                    "--server.port=0",
+                    "--spring.main.banner-mode=off",
+                    "--logging.level.root=WARN");
+            try {
+                int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+                HikariDataSource dataSource = app.getBean(DataSource.class).unwrap(HikariDataSource.class);
+                LoadReport report = run(config, "http://localhost:" + port, new PoolSampler(dataSource.getHikariPoolMXBean(), config.poolSize()));
+                report.print(System.out);
+                File file = new File("load-report-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+                new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file, report);
+                System.out.println("Report written to " + file.getAbsolutePath());
+            } finally {
+                app.close();
+            }
+        }
+    }
+
+    private static LoadReport run(LoadConfig config, String baseUrl, PoolSampler poolSampler) throws InterruptedException {
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        ObjectMapper json = new ObjectMapper();
+        LoadStats stats = new LoadStats();
+        SplittableRandom seeds = new SplittableRandom();
+        String runId = UUID.randomUUID().toString().substring(0, 6);
+        long rampUpNanos = TimeUnit.SECONDS.toNanos(config.rampUpSeconds());
+        long deadline = System.nanoTime() + rampUpNanos + TimeUnit.SECONDS.toNanos(config.durationSeconds());
+
+        AtomicInteger threadIds = new AtomicInteger();
+        ExecutorService players = Executors.newFixedThreadPool(config.players(), r -> {
+            Thread t = new Thread(r, "player-" + threadIds.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            // Players join evenly over the ramp-up so registration (BCrypt) does not arrive as one burst
+            long gapNanos = rampUpNanos / config.players();
+            for (int i = 0; i < config.players(); i++) {
+                players.execute(new PlayerSession(http, json, baseUrl, "load_" + runId + "_" + i, config, stats, deadline, seeds.split()));
+                if (gapNanos > 0) TimeUnit.NANOSECONDS.sleep(gapNanos);
+            }
+            stats.startMeasuring();
+            poolSampler.start();
+
+            players.shutdown();
+            long grace = TimeUnit.SECONDS.toNanos(30);
+            players.awaitTermination(deadline - System.nanoTime() + grace, TimeUnit.NANOSECONDS);
+            poolSampler.close();
+            double seconds = stats.measuredSeconds();
+            return new LoadReport(config, seconds, stats.summarize(seconds), poolSampler.summarize());
+        } finally {
+            players.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.throneofdust.benchmarks.load;
+
+import java.io.PrintStream;
+import java.util.Map;
+
+/**
+ * Outcome of a load run, printed as a table and serialized as JSON for comparison across releases.
+ * Registration is reported like any endpoint but left out of {@link #perSecond()}, since it only
+ * happens during ramp-up.
+ */
+record LoadReport(LoadConfig config, double measuredSeconds, Map<String, EndpointStats.Summary> endpoints,
+                  PoolSampler.Summary pool) {
+
+    public double perSecond() {
+        return endpoints.entrySet().stream()
+                .filter(e -> !LoadStats.REGISTER.equals(e.getKey()))
+                .mapToDouble(e -> e.getValue().perSecond())
+                .sum();
+    }
+
+    void print(PrintStream out) {
+        out.printf("%n%d players, %.0f s measured, think %d ms, pool %d%n",
+                config.players(), measuredSeconds, config.thinkTimeMs(), config.poolSize());
+        out.printf("%-36s %9s %8s %8s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "rejected", "failed", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        endpoints.forEach((endpoint, s) -> out.printf("%-36s %9d %8.1f %8d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                endpoint, s.requests(), s.perSecond(), s.rejected(), s.failed(), s.p50Ms(), s.p90Ms(), s.p99Ms(), s.p999Ms(), s.maxMs()));
+        out.printf("total %.1f req/s%n", perSecond());
+        out.printf("pool: %.1f of %d connections active on average (%.0f%%), max %d active, max %d waiting, saturated in %.1f%% of samples%n",
+                pool.meanActive(), pool.maxSize(), 100 * pool.meanUtilization(), pool.maxActive(), pool.maxWaiting(),
+                100 * pool.saturatedShare());
+    }
+}
@@ -0,0 +1,47 @@
+package com.throneofdust.benchmarks.load;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-endpoint statistics of a run. Requests made before {@link #startMeasuring()} (ramp-up)
+ * are dropped, except for registration, which only happens then.
+ */
+final class LoadStats {
+
+    static final String REGISTER = "POST /api/auth/register";
+
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+    private volatile long measuringSinceNanos = -1;
+
+    void startMeasuring() {
+        measuringSinceNanos = System.nanoTime();
+    }
+
+    void record(String endpoint, long nanos, int status) {
+        if (counts(endpoint)) {
+            endpoints.computeIfAbsent(endpoint, e -> new EndpointStats()).record(nanos, status);
+        }
+    }
+
+    void recordFailure(String endpoint) {
+        if (counts(endpoint)) {
+            endpoints.computeIfAbsent(endpoint, e -> new EndpointStats()).recordFailure();
+        }
+    }
+
+    double measuredSeconds() {
+        return measuringSinceNanos < 0 ? 0 : (System.nanoTime() - measuringSinceNanos) / 1e9;
+    }
+
+    Map<String, EndpointStats.Summary> summarize(double seconds) {
+        Map<String, EndpointStats.Summary> summaries = new TreeMap<>();
+        endpoints.forEach((endpoint, stats) -> summaries.put(endpoint, stats.summarize(seconds)));
+        return summaries;
+    }
+
+    private boolean counts(String endpoint) {
+        return measuringSinceNanos >= 0 || REGISTER.equals(endpoint);
+    }
+}
@@ -0,0 +1,164 @@
+package com.throneofdust.benchmarks.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.throneofdust.throneofdust.domain.enums.BuildingType;
+import com.throneofdust.throneofdust.domain.enums.RaidMapTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * One simulated player: registers, then until the deadline picks an action from the mix, calls
+ * the API the way the web client does and pauses for a think time. The player keeps just enough
+ * of the responses (ETag, idle characters, its running raid) to make its next request plausible.
+ */
+final class PlayerSession implements Runnable {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    private static final int MAX_SQUAD = 3;
+
+    private final HttpClient http;
+    private final ObjectMapper json;
+    private final String baseUrl;
+    private final String username;
+    private final LoadConfig config;
+    private final LoadStats stats;
+    private final long deadlineNanos;
+    private final SplittableRandom random;
+
+    private String token;
+    private String etag;
+    private List<Long> idleCharacters = List.of();
+    private Long raidId;
+    private Instant raidEndAt;
+
+    PlayerSession(HttpClient http, ObjectMapper json, String baseUrl, String username, LoadConfig config, LoadStats stats,
+                  long deadlineNanos, SplittableRandom random) {
+        this.http = http;
+        this.json = json;
+        this.baseUrl = baseUrl;
+        this.username = username;
+        this.config = config;
+        this.stats = stats;
+        this.deadlineNanos = deadlineNanos;
+        this.random = random;
+    }
+
+    @Override
+    public void run() {
+        try {
+            if (!register()) return;
+            while (System.nanoTime() < deadlineNanos) {
+                switch (config.pick(random)) {
+                    case STATE -> pollState();
+                    case COLLECT -> send("POST /api/player/collect", post("/api/player/collect", null));
+                    case UPGRADE -> upgrade();
+                    case RECRUIT -> send("POST /api/training/recruit", post("/api/training/recruit", null));
+                    case RAID -> raid();
+                }
+                Thread.sleep(config.nextThinkMs(random));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean register() throws InterruptedException {
+        String body = "{\"username\":\"" + username + "\",\"password\":\"load-test-pass\"}";
+        HttpResponse<String> response = send(LoadStats.REGISTER, post("/api/auth/register", body));
+        if (response == null || response.statusCode() != 200) return false;
+        token = read(response).path("token").asText();
+        return true;
+    }
+
+    private void pollState() throws InterruptedException {
+        HttpRequest.Builder request = get("/api/player/state");
+        if (etag != null) request.header("If-None-Match", etag);
+        HttpResponse<String> response = send("GET /api/player/state", request);
+        if (response == null || response.statusCode() != 200) return;
+        etag = response.headers().firstValue("ETag").orElse(null);
+        List<Long> idle = new ArrayList<>();
+        for (JsonNode character : read(response).path("characters")) {
+            if ("IDLE".equals(character.path("status").asText())) idle.add(character.path("id").asLong());
+        }
+        idleCharacters = idle;
+    }
+
+    private void upgrade() throws InterruptedException {
+        BuildingType[] types = BuildingType.values();
+        BuildingType type = types[random.nextInt(types.length)];
+        send("POST /api/buildings/{type}/upgrade", post("/api/buildings/" + type + "/upgrade", null));
+    }
+
+    private void raid() throws InterruptedException {
+        if (raidId != null && !raidEndAt.isAfter(Instant.now())) {
+            HttpResponse<String> response = send("POST /api/raids/{id}/resolve", post("/api/raids/" + raidId + "/resolve", null));
+            if (response != null && response.statusCode() < 500) raidId = null;
+            return;
+        }
+        if (raidId != null || idleCharacters.isEmpty()) {
+            send("GET /api/raids/active", get("/api/raids/active"));
+            return;
+        }
+
+        List<Long> squad = idleCharacters.subList(0, Math.min(MAX_SQUAD, idleCharacters.size()));
+        String body = "{\"map\":\"" + RaidMapTemplate.ABANDONED_OUTPOST + "\",\"memberIds\":" + squad + ",\"allyMode\":false}";
+        HttpResponse<String> response = send("POST /api/raids/start", post("/api/raids/start", body));
+        // Whatever the outcome, the squad is no longer known to be idle until the next state poll
+        idleCharacters = List.of();
+        if (response != null && response.statusCode() == 200) {
+            JsonNode raid = read(response);
+            raidId = raid.path("id").asLong();
+            raidEndAt = Instant.parse(raid.path("endAt").asText());
+        }
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return authorized(HttpRequest.newBuilder(URI.create(baseUrl + path)).GET());
+    }
+
+    private HttpRequest.Builder post(String path, String body) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path));
+        if (body == null) {
+            request.POST(HttpRequest.BodyPublishers.noBody());
+        } else {
+            request.header("Content-Type", "application/json").POST(HttpRequest.BodyPublishers.ofString(body));
+        }
+        return authorized(request);
+    }
+
+    private HttpRequest.Builder authorized(HttpRequest.Builder request) {
+        if (token != null) request.header("Authorization", "Bearer " + token);
+        return request.timeout(TIMEOUT);
+    }
+
+    // Returns null when the request never produced a response; that is recorded as a failure
+    private HttpResponse<String> send(String endpoint, HttpRequest.Builder request) throws InterruptedException {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            stats.record(endpoint, System.nanoTime() - start, response.statusCode());
+            return response;
+        } catch (IOException e) {
+            stats.recordFailure(endpoint);
+            return null;
+        }
+    }
+
+    private JsonNode read(HttpResponse<String> response) {
+        try {
+            return json.readTree(response.body());
+        } catch (IOException e) {
+            throw new IllegalStateException("Unparseable response from " + response.uri(), e);
+        }
+    }
+}
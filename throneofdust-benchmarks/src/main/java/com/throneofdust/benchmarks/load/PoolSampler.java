@@ -0,0 +1,70 @@
+package com.throneofdust.benchmarks.load;
+
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples the application's Hikari pool at a fixed rate. A pool is saturated when every
+ * connection is in use and requests queue for one; the share of such samples is the signal
+ * that the node has run out of database capacity before CPU.
+ */
+final class PoolSampler implements AutoCloseable {
+
+    private static final long PERIOD_MS = 100;
+
+    private final HikariPoolMXBean pool;
+    private final int maxSize;
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "pool-sampler");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // Only the timer thread writes; summarize() runs after close()
+    private long samples;
+    private long activeSum;
+    private int maxActive;
+    private int maxWaiting;
+    private long waitingSamples;
+
+    PoolSampler(HikariPoolMXBean pool, int maxSize) {
+        this.pool = pool;
+        this.maxSize = maxSize;
+    }
+
+    void start() {
+        timer.scheduleAtFixedRate(this::sample, 0, PERIOD_MS, TimeUnit.MILLISECONDS);
+    }
+
+    private void sample() {
+        int active = pool.getActiveConnections();
+        int waiting = pool.getThreadsAwaitingConnection();
+        samples++;
+        activeSum += active;
+        maxActive = Math.max(maxActive, active);
+        maxWaiting = Math.max(maxWaiting, waiting);
+        if (waiting > 0) waitingSamples++;
+    }
+
+    @Override
+    public void close() {
+        timer.shutdown();
+        try {
+            timer.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    Summary summarize() {
+        double meanActive = samples == 0 ? 0 : (double) activeSum / samples;
+        return new Summary(maxSize, meanActive, meanActive / maxSize, maxActive, maxWaiting,
+                samples == 0 ? 0 : (double) waitingSamples / samples);
+    }
+
+    record Summary(int maxSize, double meanActive, double meanUtilization, int maxActive, int maxWaiting,
+                   double saturatedShare) {}
+}
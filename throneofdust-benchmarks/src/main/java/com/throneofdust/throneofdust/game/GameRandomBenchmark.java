@@ -0,0 +1,53 @@
+package com.throneofdust.throneofdust.game;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.SecureRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Random draws under request-level concurrency: one SecureRandom shared by all threads (the old
+ * raid and recruit code) against {@link SplittableGameRandom}'s per-thread streams.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(64)
+@State(Scope.Benchmark)
+public class GameRandomBenchmark {
+
+    private final SecureRandom shared = new SecureRandom();
+    private final SplittableGameRandom gameRandom = new SplittableGameRandom();
+
+    @Benchmark
+    public double sharedSecureRandom() {
+        return shared.nextDouble();
+    }
+
+    @Benchmark
+    public double splittablePerThread() {
+        return gameRandom.current().nextDouble();
+    }
+
+    @Benchmark
+    public long raidSeed() {
+        return gameRandom.newSeed();
+    }
+
+    @Benchmark
+    public double threadLocalRandomBaseline() {
+        return ThreadLocalRandom.current().nextDouble();
+    }
+}
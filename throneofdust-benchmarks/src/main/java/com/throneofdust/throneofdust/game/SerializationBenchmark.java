@@ -0,0 +1,119 @@
+package com.throneofdust.throneofdust.game;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.throneofdust.throneofdust.domain.enums.BuildingType;
+import com.throneofdust.throneofdust.domain.enums.CharacterClass;
+import com.throneofdust.throneofdust.domain.enums.CharacterStatus;
+import com.throneofdust.throneofdust.domain.enums.RaidMapTemplate;
+import com.throneofdust.throneofdust.domain.enums.RaidStatus;
+import com.throneofdust.throneofdust.domain.enums.TraitType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON encoding of the largest game responses, sized by roster: player state, active raids and
+ * a page of raid history. The mapper is configured like the application's.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SerializationBenchmark {
+
+    @Param({"6", "15", "40"})
+    public int rosterSize;
+
+    private ObjectMapper mapper;
+    private PlayerState playerState;
+    private List<Raid> activeRaids;
+    private RaidPage history;
+
+    @Setup
+    public void setUp() {
+        mapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        Instant now = Instant.parse("2025-06-01T12:00:00Z");
+        TraitType[] traits = TraitType.values();
+        CharacterClass[] classes = CharacterClass.values();
+
+        List<Building> buildings = new ArrayList<>();
+        long id = 1;
+        for (BuildingType type : BuildingType.values()) {
+            Building b = new Building();
+            b.setId(id++);
+            b.setType(type);
+            b.setLevel(3);
+            b.setLastCollectedAt(now);
+            buildings.add(b);
+        }
+
+        List<GameCharacter> characters = new ArrayList<>();
+        for (int i = 0; i < rosterSize; i++) {
+            GameCharacter c = new GameCharacter();
+            c.setId((long) i + 1);
+            c.setName("Raider " + i);
+            c.setCharacterClass(classes[i % classes.length]);
+            c.setStatus(i % 3 == 0 ? CharacterStatus.ON_RAID : CharacterStatus.IDLE);
+            c.setLevel(1 + i % 10);
+            c.setXp(17 * i % 100);
+            c.setTraits(new HashSet<>(Set.of(traits[i % traits.length], traits[(i + 5) % traits.length])));
+            characters.add(c);
+        }
+        playerState = new PlayerState(900, 1400, 700, 5000, buildings, characters, List.of(), 42, null);
+
+        activeRaids = new ArrayList<>();
+        List<RaidSummary> summaries = new ArrayList<>();
+        for (int i = 0; i + 1 < rosterSize; i += 3) {
+            Raid raid = new Raid();
+            raid.setId((long) i + 1);
+            raid.setMap(RaidMapTemplate.values()[i % RaidMapTemplate.values().length]);
+            raid.setStatus(RaidStatus.IN_PROGRESS);
+            raid.setStartAt(now.minusSeconds(600));
+            raid.setEndAt(now.plusSeconds(600));
+            raid.setMembers(Set.of(characters.get(i), characters.get(i + 1)));
+            activeRaids.add(raid);
+
+            summaries.add(new RaidSummary((long) i + 1, raid.getMap(), RaidStatus.RESOLVED, false, now.minusSeconds(7200),
+                    now.minusSeconds(3600 + i), true, 120, 40, 1, false, true,
+                    List.of(characters.get(i).getId(), characters.get(i + 1).getId())));
+        }
+        RaidSummary last = summaries.get(summaries.size() - 1);
+        history = new RaidPage(summaries, last.endAt(), last.id());
+    }
+
+    @Benchmark
+    public byte[] playerState() throws Exception {
+        return mapper.writeValueAsBytes(playerState);
+    }
+
+    @Benchmark
+    public byte[] activeRaids() throws Exception {
+        return mapper.writeValueAsBytes(activeRaids);
+    }
+
+    @Benchmark
+    public byte[] raidHistoryPage() throws Exception {
+        return mapper.writeValueAsBytes(history);
+    }
+}
@@ -0,0 +1,72 @@
+package com.throneofdust.throneofdust.game;
+
+import com.throneofdust.throneofdust.auth.UserAccount;
+import com.throneofdust.throneofdust.domain.enums.BuildingType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Production and storage-cap math behind {@code BuildingService.collectAll} and every wallet read,
+ * plus folding the building-level rows that feed it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WalletBenchmark {
+
+    private UserAccount user;
+    private ResourceWallet stored;
+    private List<Object[]> levelRows;
+    private BuildingLevels levels;
+    private Instant now;
+
+    @Setup
+    public void setUp() {
+        now = Instant.parse("2025-06-01T12:00:00Z");
+        user = new UserAccount();
+        user.setWood(900);
+        user.setStone(1400);
+        user.setScrap(2300); // above the cap through loot
+        user.setGold(5000);
+        user.setLastCollectedAt(now.minus(Duration.ofHours(3)));
+        stored = new ResourceWallet(user.getWood(), user.getStone(), user.getScrap(), user.getGold());
+
+        levelRows = new ArrayList<>();
+        for (BuildingType type : BuildingType.values()) {
+            levelRows.add(new Object[]{type, 3});
+        }
+        levels = BuildingLevels.fromRows(levelRows);
+    }
+
+    @Benchmark
+    public ResourceWallet currentBalances() {
+        return ResourceWallet.accrue(user, levels, now);
+    }
+
+    @Benchmark
+    public ResourceWallet collectGains() {
+        return ResourceWallet.accrue(stored, user.getLastCollectedAt(), levels, now).minus(stored);
+    }
+
+    @Benchmark
+    public BuildingLevels foldLevelRows() {
+        return BuildingLevels.fromRows(levelRows);
+    }
+}
@@ -0,0 +1,88 @@
+package com.throneofdust.throneofdust.game.engine;
+
+import com.throneofdust.throneofdust.domain.enums.RaidMapTemplate;
+import com.throneofdust.throneofdust.domain.enums.TraitType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Raid outcome math as run by {@code RaidService.resolveRaid}: folding the squad into a
+ * {@link SquadProfile} and rolling the outcome with {@link RaidEngine}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RaidEngineBenchmark {
+
+    @Param({"ABANDONED_OUTPOST", "RUINED_FORT", "DEEP_WARRENS"})
+    public RaidMapTemplate map;
+
+    @Param({"false", "true"})
+    public boolean allyMode;
+
+    @Param({"1", "4"})
+    public int squadSize;
+
+    private int[] levels;
+    private int[] xp;
+    private List<Set<TraitType>> traits;
+    private SquadProfile squad;
+    private RaidOutcome outcome;
+    private SplittableRandom random;
+
+    @Setup
+    public void setUp() {
+        TraitType[] all = TraitType.values();
+        levels = new int[squadSize];
+        xp = new int[squadSize];
+        traits = new ArrayList<>(squadSize);
+        for (int i = 0; i < squadSize; i++) {
+            levels[i] = 3 + i;
+            xp[i] = 20 * i;
+            traits.add(EnumSet.of(all[i % all.length], all[(i + 3) % all.length]));
+        }
+        squad = new SquadProfile(squadSize);
+        fold();
+        outcome = new RaidOutcome(squadSize);
+        random = new SplittableRandom(42);
+    }
+
+    @Benchmark
+    public RaidOutcome resolve() {
+        RaidEngine.resolve(map, allyMode, 2, squad, random, outcome);
+        return outcome;
+    }
+
+    @Benchmark
+    public RaidOutcome foldAndResolve() {
+        fold();
+        RaidEngine.resolve(map, allyMode, 2, squad, random, outcome);
+        return outcome;
+    }
+
+    private void fold() {
+        squad.reset();
+        for (int i = 0; i < squadSize; i++) {
+            squad.add(levels[i], xp[i], SquadProfile.traitMask(traits.get(i)));
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.throneofdust.throneofdust.security;
+
+import com.throneofdust.throneofdust.auth.Role;
+import com.throneofdust.throneofdust.auth.UserAccount;
+import com.throneofdust.throneofdust.auth.UserIdentityCache;
+import com.throneofdust.throneofdust.auth.UserRepository;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and verification cost, with and without the claims cache, and the full
+ * {@link JwtAuthFilter} pass every authenticated request goes through.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JwtBenchmark {
+
+    private static final String SECRET = "YWJjZGVmZ2hpams8bG1ub3BxcnN0dXZ3eHl6MTIzNDU2Nzg5MGFiY2RlZmdoaWprLGxtbm9wcXJzdHV2d3h5ejEyMzQ1Njc4OTBhYmNkZWZnaGlqayxtbW5vcHFyc3R1dnd4eXoxMjM0NTY3ODkw";
+    private static final long EXPIRATION_MS = 3_600_000;
+    private static final int DISTINCT_TOKENS = 16;
+
+    private JwtService cachingJwt;
+    private JwtService uncachedJwt;
+    private String token;
+    private String[] tokens;
+    private int next;
+    private JwtAuthFilter filter;
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        cachingJwt = new JwtService(SECRET, EXPIRATION_MS, 10_000, new SimpleMeterRegistry());
+        // A one-entry cache cycled through more tokens than it holds verifies the signature every time
+        uncachedJwt = new JwtService(SECRET, EXPIRATION_MS, 1, new SimpleMeterRegistry());
+        token = cachingJwt.generateToken("bench", Map.of());
+        tokens = new String[DISTINCT_TOKENS];
+        for (int i = 0; i < DISTINCT_TOKENS; i++) {
+            tokens[i] = uncachedJwt.generateToken("bench" + i, Map.of());
+        }
+
+        filter = new JwtAuthFilter(cachingJwt, new UserIdentityCache(stubUsers(), 30_000, 10_000));
+        request = new MockHttpServletRequest("GET", "/api/player/state");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachingJwt.generateToken("bench", Map.of());
+    }
+
+    @Benchmark
+    public Optional<Claims> verifyCached() {
+        return cachingJwt.verifiedClaims(token);
+    }
+
+    @Benchmark
+    public Optional<Claims> verifyUncached() {
+        next = (next + 1) % DISTINCT_TOKENS;
+        return uncachedJwt.verifiedClaims(tokens[next]);
+    }
+
+    @Benchmark
+    public Authentication filterPerRequest() throws Exception {
+        filter.doFilterInternal(request, new MockHttpServletResponse(), new MockFilterChain());
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    // Only findWithRolesByUsername is reached, and only on identity-cache misses
+    private static UserRepository stubUsers() {
+        Role role = new Role();
+        role.setName("ROLE_USER");
+        UserAccount user = new UserAccount();
+        user.setId(1L);
+        user.setUsername("bench");
+        user.setRoles(Set.of(role));
+        return (UserRepository) Proxy.newProxyInstance(UserRepository.class.getClassLoader(),
+                new Class<?>[]{UserRepository.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("findWithRolesByUsername")) {
+                        return Optional.of(user);
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
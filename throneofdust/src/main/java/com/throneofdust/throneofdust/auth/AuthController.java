@@ -1,14 +1,24 @@
 package com.throneofdust.throneofdust.auth;
 
+import com.throneofdust.throneofdust.game.ErrorResponse;
+import com.throneofdust.throneofdust.security.PasswordHashingUnavailableException;
 import jakarta.validation.constraints.NotBlank;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 record AuthRequest(@NotBlank String username, @NotBlank String password) {}
-record AuthResponse(String token) {}
+record RefreshRequest(@NotBlank String refreshToken) {}
+record AuthResponse(String token, String refreshToken) {
+    static AuthResponse of(AuthTokens tokens) {
+        return new AuthResponse(tokens.accessToken(), tokens.refreshToken());
+    }
+}
 
 @RestController
 @RequestMapping("/api/auth")
@@ -22,15 +32,32 @@ public class AuthController {
 
     @PostMapping("/register")
     public ResponseEntity<AuthResponse> register(@RequestBody AuthRequest request) {
-        String token = authService.register(request.username(), request.password());
-        return ResponseEntity.ok(new AuthResponse(token));
+        return ResponseEntity.ok(AuthResponse.of(authService.register(request.username(), request.password())));
     }
 
     @PostMapping("/login")
     public ResponseEntity<AuthResponse> login(@RequestBody AuthRequest request) {
-        String token = authService.login(request.username(), request.password());
-        return ResponseEntity.ok(new AuthResponse(token));
+        return ResponseEntity.ok(AuthResponse.of(authService.login(request.username(), request.password())));
+    }
+
+    // No password check: renewing an expired access token costs a hash lookup, not a BCrypt round
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@RequestBody RefreshRequest request) {
+        return authService.refresh(request.refreshToken())
+                .<ResponseEntity<?>>map(tokens -> ResponseEntity.ok(AuthResponse.of(tokens)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(ErrorResponse.of("Invalid refresh token")));
     }
-}
 
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestBody RefreshRequest request) {
+        authService.logout(request.refreshToken());
+        return ResponseEntity.noContent().build();
+    }
 
+    @ExceptionHandler(PasswordHashingUnavailableException.class)
+    public ResponseEntity<ErrorResponse> passwordHashingUnavailable(PasswordHashingUnavailableException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ErrorResponse.of(e.getMessage()));
+    }
+}
@@ -3,23 +3,45 @@ package com.throneofdust.throneofdust.auth;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 @Component
 public class AuthFacade {
 
+    private static final String CURRENT_USER_ATTRIBUTE = AuthFacade.class.getName() + ".currentUser";
+
     private final UserRepository userRepository;
 
     public AuthFacade(UserRepository userRepository) {
         this.userRepository = userRepository;
     }
 
-    public UserAccount currentUser() {
+    public AuthenticatedUser currentIdentity() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        if (auth == null || auth.getName() == null) {
+        if (auth == null || !(auth.getPrincipal() instanceof AuthenticatedUser identity)) {
             throw new IllegalStateException("No authenticated user");
         }
-        return userRepository.findByUsername(auth.getName()).orElseThrow();
+        return identity;
     }
-}
 
+    public Long currentUserId() {
+        return currentIdentity().id();
+    }
 
+    /**
+     * Loads the current user by primary key, at most once per HTTP request.
+     */
+    public UserAccount currentUser() {
+        Long userId = currentUserId();
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null && request.getAttribute(CURRENT_USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof UserAccount user) {
+            return user;
+        }
+        UserAccount user = userRepository.findById(userId).orElseThrow();
+        if (request != null) {
+            request.setAttribute(CURRENT_USER_ATTRIBUTE, user, RequestAttributes.SCOPE_REQUEST);
+        }
+        return user;
+    }
+}
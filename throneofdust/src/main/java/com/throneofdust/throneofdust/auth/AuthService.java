@@ -4,70 +4,108 @@ import com.throneofdust.throneofdust.domain.enums.BuildingType;
 import com.throneofdust.throneofdust.game.Building;
 import com.throneofdust.throneofdust.game.BuildingRepository;
 import com.throneofdust.throneofdust.security.JwtService;
-import jakarta.transaction.Transactional;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @Service
 public class AuthService {
 
+    private static final String USER_ROLE = "ROLE_USER";
+
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final BuildingRepository buildingRepository;
+    private final RefreshTokenService refreshTokenService;
+    private final TransactionTemplate transactionTemplate;
+    // Roles are never renamed or deleted, so once seen committed the id is reused without a lookup
+    private volatile Long userRoleId;
 
-    public AuthService(UserRepository userRepository, RoleRepository roleRepository, PasswordEncoder passwordEncoder, JwtService jwtService, BuildingRepository buildingRepository) {
+    public AuthService(UserRepository userRepository, RoleRepository roleRepository, PasswordEncoder passwordEncoder, JwtService jwtService,
+                       BuildingRepository buildingRepository, RefreshTokenService refreshTokenService, TransactionTemplate transactionTemplate) {
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtService = jwtService;
         this.buildingRepository = buildingRepository;
+        this.refreshTokenService = refreshTokenService;
+        this.transactionTemplate = transactionTemplate;
     }
 
-    @Transactional
-    public String register(String username, String rawPassword) {
+    public AuthTokens register(String username, String rawPassword) {
         if (userRepository.existsByUsername(username)) {
             throw new IllegalArgumentException("Username already taken");
         }
+        // Hashed before the transaction starts, so no pooled connection is held while waiting for a hashing thread
+        String passwordHash = passwordEncoder.encode(rawPassword);
+        return transactionTemplate.execute(status -> createAccount(username, passwordHash));
+    }
+
+    public AuthTokens login(String username, String rawPassword) {
+        UserAccount user = userRepository.findByUsername(username).orElseThrow(() -> new IllegalArgumentException("Invalid credentials"));
+        if (!passwordEncoder.matches(rawPassword, user.getPasswordHash())) {
+            throw new IllegalArgumentException("Invalid credentials");
+        }
+        return new AuthTokens(accessToken(user.getUsername()), refreshTokenService.issue(user.getId()));
+    }
+
+    public Optional<AuthTokens> refresh(String refreshToken) {
+        return refreshTokenService.rotate(refreshToken)
+                .map(rotation -> new AuthTokens(accessToken(rotation.username()), rotation.refreshToken()));
+    }
 
-        Role userRole = roleRepository.findByName("ROLE_USER").orElseGet(() -> {
-            Role r = new Role();
-            r.setName("ROLE_USER");
-            return roleRepository.save(r);
-        });
+    public void logout(String refreshToken) {
+        refreshTokenService.revoke(refreshToken);
+    }
 
+    private AuthTokens createAccount(String username, String passwordHash) {
         UserAccount user = new UserAccount();
         user.setUsername(username);
-        user.setPasswordHash(passwordEncoder.encode(rawPassword));
-        user.getRoles().add(userRole);
+        user.setPasswordHash(passwordHash);
+        user.getRoles().add(userRole());
         user = userRepository.save(user);
 
-        // Seed starting buildings at level 1
+        // Seed starting buildings at level 1; ids come from the pooled sequence, so the inserts go out as one batch at commit
+        List<Building> buildings = new ArrayList<>();
         for (BuildingType type : BuildingType.values()) {
             Building b = new Building();
             b.setUser(user);
             b.setType(type);
             b.setLevel(1);
-            buildingRepository.save(b);
+            buildings.add(b);
         }
+        buildingRepository.saveAll(buildings);
 
+        return new AuthTokens(accessToken(username), refreshTokenService.issue(user.getId()));
+    }
+
+    private String accessToken(String username) {
         Map<String, Object> claims = new HashMap<>();
-        claims.put("role", "ROLE_USER");
-        return jwtService.generateToken(user.getUsername(), claims);
+        claims.put("role", USER_ROLE);
+        return jwtService.generateToken(username, claims);
     }
 
-    public String login(String username, String rawPassword) {
-        UserAccount user = userRepository.findByUsername(username).orElseThrow(() -> new IllegalArgumentException("Invalid credentials"));
-        if (!passwordEncoder.matches(rawPassword, user.getPasswordHash())) {
-            throw new IllegalArgumentException("Invalid credentials");
+    private Role userRole() {
+        Long id = userRoleId;
+        if (id != null) {
+            return roleRepository.getReferenceById(id);
         }
-        Map<String, Object> claims = new HashMap<>();
-        claims.put("role", "ROLE_USER");
-        return jwtService.generateToken(user.getUsername(), claims);
+        Optional<Role> existing = roleRepository.findByName(USER_ROLE);
+        if (existing.isPresent()) {
+            userRoleId = existing.get().getId();
+            return existing.get();
+        }
+        // Not cached: this transaction's insert is only safe to reuse once it has committed
+        roleRepository.insertIfAbsent(USER_ROLE);
+        return roleRepository.findByName(USER_ROLE).orElseThrow();
     }
 }
 
@@ -0,0 +1,4 @@
+package com.throneofdust.throneofdust.auth;
+
+/** A short-lived JWT for API calls and the refresh token that renews it. */
+public record AuthTokens(String accessToken, String refreshToken) {}
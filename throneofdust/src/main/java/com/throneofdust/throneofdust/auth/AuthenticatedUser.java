@@ -0,0 +1,22 @@
+package com.throneofdust.throneofdust.auth;
+
+import java.security.Principal;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Principal the JWT filter puts in the security context. Carries the user id and role names
+ * so a request can identify its user without another users/roles lookup.
+ */
+public record AuthenticatedUser(Long id, String username, Set<String> roles) implements Principal {
+
+    public static AuthenticatedUser of(UserAccount user) {
+        return new AuthenticatedUser(user.getId(), user.getUsername(),
+                user.getRoles().stream().map(Role::getName).collect(Collectors.toUnmodifiableSet()));
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
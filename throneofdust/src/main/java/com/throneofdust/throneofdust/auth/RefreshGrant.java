@@ -0,0 +1,7 @@
+package com.throneofdust.throneofdust.auth;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/** What a stored refresh token grants, read without loading the user entity. */
+public record RefreshGrant(Long userId, String username, UUID familyId, Instant usedAt) {}
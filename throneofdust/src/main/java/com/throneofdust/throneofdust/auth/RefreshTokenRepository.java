@@ -0,0 +1,32 @@
+package com.throneofdust.throneofdust.auth;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    @Query("""
+            select new com.throneofdust.throneofdust.auth.RefreshGrant(t.user.id, t.user.username, t.familyId, t.usedAt)
+            from RefreshToken t
+            where t.tokenHash = :hash""")
+    Optional<RefreshGrant> findGrant(@Param("hash") String hash);
+
+    // Compare-and-set: of several concurrent refreshes with one token, exactly one consumes it
+    @Modifying
+    @Query("update RefreshToken t set t.usedAt = :now where t.tokenHash = :hash and t.usedAt is null and t.revoked = false and t.expiresAt > :now")
+    int consume(@Param("hash") String hash, @Param("now") Instant now);
+
+    @Modifying
+    @Query("update RefreshToken t set t.revoked = true where t.familyId = :familyId and t.revoked = false")
+    int revokeFamily(@Param("familyId") UUID familyId);
+
+    @Modifying
+    @Query("delete from RefreshToken t where t.user.id = :userId and t.expiresAt < :now")
+    int deleteExpired(@Param("userId") Long userId, @Param("now") Instant now);
+}
@@ -0,0 +1,105 @@
+package com.throneofdust.throneofdust.auth;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Long-lived, single-use refresh tokens. Trading one for a new access token costs two indexed
+ * statements and a SHA-256 instead of a BCrypt check. Each use rotates the token within its family;
+ * replaying a consumed token revokes the family, logging out whoever holds the stolen copy.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    public record Rotation(String username, String refreshToken) {}
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final Duration ttl;
+    private final Duration reuseGrace;
+    private final SecureRandom random = new SecureRandom();
+
+    public RefreshTokenService(
+            RefreshTokenRepository refreshTokenRepository,
+            UserRepository userRepository,
+            @Value("${app.security.refresh.ttl-ms:2592000000}") long ttlMs,
+            @Value("${app.security.refresh.reuse-grace-ms:10000}") long reuseGraceMs
+    ) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.ttl = Duration.ofMillis(ttlMs);
+        this.reuseGrace = Duration.ofMillis(reuseGraceMs);
+    }
+
+    @Transactional
+    public String issue(Long userId) {
+        return issue(userId, UUID.randomUUID(), Instant.now());
+    }
+
+    /**
+     * Consumes {@code rawToken} and returns its successor, or empty if the token is unknown,
+     * expired, revoked or already used.
+     */
+    @Transactional
+    public Optional<Rotation> rotate(String rawToken) {
+        String hash = hash(rawToken);
+        Optional<RefreshGrant> grant = refreshTokenRepository.findGrant(hash);
+        if (grant.isEmpty()) {
+            return Optional.empty();
+        }
+        Instant now = Instant.now();
+        RefreshGrant g = grant.get();
+        if (refreshTokenRepository.consume(hash, now) == 1) {
+            // Consumed tokens are kept until expiry to detect replays; rotation is where a player's rows accumulate
+            refreshTokenRepository.deleteExpired(g.userId(), now);
+            return Optional.of(new Rotation(g.username(), issue(g.userId(), g.familyId(), now)));
+        }
+        // Two tabs refreshing at once is expected; the loser picks up the winner's token from shared storage
+        if (g.usedAt() != null && g.usedAt().isBefore(now.minus(reuseGrace))) {
+            refreshTokenRepository.revokeFamily(g.familyId());
+        }
+        return Optional.empty();
+    }
+
+    @Transactional
+    public void revoke(String rawToken) {
+        refreshTokenRepository.findGrant(hash(rawToken)).ifPresent(g -> refreshTokenRepository.revokeFamily(g.familyId()));
+    }
+
+    private String issue(Long userId, UUID familyId, Instant now) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken token = new RefreshToken();
+        token.setUser(userRepository.getReferenceById(userId));
+        token.setTokenHash(hash(rawToken));
+        token.setFamilyId(familyId);
+        token.setExpiresAt(now.plus(ttl));
+        refreshTokenRepository.save(token);
+        return rawToken;
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,11 +1,17 @@
 package com.throneofdust.throneofdust.auth;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
 public interface RoleRepository extends JpaRepository<Role, Long> {
     Optional<Role> findByName(String name);
-}
-
 
+    // Concurrent first registrations both succeed; the loser waits for the winner's row instead of failing on the unique name
+    @Modifying
+    @Query(value = "INSERT INTO roles (name) VALUES (:name) ON CONFLICT (name) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("name") String name);
+}
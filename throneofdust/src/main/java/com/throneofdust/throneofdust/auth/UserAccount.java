@@ -9,6 +9,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.time.Instant;
 import java.util.HashSet;
@@ -19,7 +20,8 @@ import java.util.Set;
 public class UserAccount {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true, length = 50)
@@ -28,7 +30,7 @@ public class UserAccount {
     @Column(nullable = false, length = 100)
     private String passwordHash;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
             name = "user_roles",
             joinColumns = @JoinColumn(name = "user_id"),
@@ -57,6 +59,10 @@ public class UserAccount {
     @Column(nullable = false)
     private Instant lastCollectedAt = Instant.now();
 
+    // Bumped only through UserRepository.incrementStateVersion, never written by entity saves
+    @Column(nullable = false, insertable = false, updatable = false)
+    private long stateVersion;
+
     public Long getId() {
         return id;
     }
@@ -132,6 +138,10 @@ public class UserAccount {
     public void setLastCollectedAt(Instant lastCollectedAt) {
         this.lastCollectedAt = lastCollectedAt;
     }
+
+    public long getStateVersion() {
+        return stateVersion;
+    }
 }
 
 
@@ -0,0 +1,58 @@
+package com.throneofdust.throneofdust.auth;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-lived username to identity cache for the JWT filter. Keeps repeat requests from the
+ * same player off the users/user_roles tables; a TTL of 0 disables it.
+ */
+@Component
+public class UserIdentityCache {
+
+    private record Entry(AuthenticatedUser identity, long expiresAtMs) {}
+
+    private final UserRepository userRepository;
+    private final long ttlMs;
+    private final int maxEntries;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public UserIdentityCache(
+            UserRepository userRepository,
+            @Value("${app.security.identity-cache.ttl-ms:30000}") long ttlMs,
+            @Value("${app.security.identity-cache.max-entries:10000}") int maxEntries
+    ) {
+        this.userRepository = userRepository;
+        this.ttlMs = ttlMs;
+        this.maxEntries = maxEntries;
+    }
+
+    public Optional<AuthenticatedUser> lookup(String username) {
+        long now = System.currentTimeMillis();
+        Entry cached = entries.get(username);
+        if (cached != null && cached.expiresAtMs() > now) {
+            return Optional.of(cached.identity());
+        }
+
+        Optional<AuthenticatedUser> loaded = userRepository.findWithRolesByUsername(username).map(AuthenticatedUser::of);
+        if (loaded.isEmpty()) {
+            entries.remove(username);
+        } else if (ttlMs > 0) {
+            if (entries.size() >= maxEntries) {
+                entries.values().removeIf(e -> e.expiresAtMs() <= now);
+            }
+            if (entries.size() < maxEntries) {
+                entries.put(username, new Entry(loaded.get(), now + ttlMs));
+            }
+        }
+        return loaded;
+    }
+
+    public void evict(String username) {
+        entries.remove(username);
+    }
+}
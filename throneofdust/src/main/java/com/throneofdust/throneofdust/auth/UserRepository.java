@@ -1,12 +1,25 @@
 package com.throneofdust.throneofdust.auth;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<UserAccount, Long> {
     Optional<UserAccount> findByUsername(String username);
+
+    @EntityGraph(attributePaths = "roles")
+    Optional<UserAccount> findWithRolesByUsername(String username);
     boolean existsByUsername(String username);
+
+    @Query("select u.username from UserAccount u where u.id = :id")
+    Optional<String> findUsernameById(@Param("id") Long id);
+
+    // Must run inside the mutating transaction; the row lock also orders concurrent writers per player
+    @Query(value = "UPDATE users SET state_version = state_version + 1 WHERE id = :id RETURNING state_version", nativeQuery = true)
+    long incrementStateVersion(@Param("id") Long id);
 }
 
 
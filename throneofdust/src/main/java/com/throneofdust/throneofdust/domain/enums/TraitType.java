@@ -1,13 +1,22 @@
 package com.throneofdust.throneofdust.domain.enums;
 
 public enum TraitType {
-    STEADY_HAND,   // −5% raid fail chance
-    SCOUTS_EYE,    // −5% extract fail chance
-    MEDIC,         // on extract fail, bank 50%
-    LOOTER,        // +15% rewards
-    CAUTIOUS,      // −5% overall risk, −10% rewards
-    RECKLESS,      // +10% rewards, +5% overall risk
-    UNTRUSTWORTHY  // at extraction 10% to steal 10% and desert
-}
+    STEADY_HAND(-0.05, 0.0, 0.0),     // −5% raid fail chance
+    SCOUTS_EYE(0.0, -0.05, 0.0),      // −5% extract fail chance
+    MEDIC(0.0, 0.0, 0.0),             // on extract fail, bank 50%
+    LOOTER(0.0, 0.0, 0.15),           // +15% rewards
+    CAUTIOUS(-0.05, -0.05, -0.10),    // −5% overall risk, −10% rewards
+    RECKLESS(0.05, 0.05, 0.10),       // +10% rewards, +5% overall risk
+    UNTRUSTWORTHY(0.0, 0.0, 0.0);     // at extraction 10% to steal 10% and desert
 
+    // Additive per-member modifiers; behavioural traits (MEDIC, UNTRUSTWORTHY) are handled by the raid engine
+    public final double raidFailDelta;
+    public final double extractFailDelta;
+    public final double lootDelta;
 
+    TraitType(double raidFailDelta, double extractFailDelta, double lootDelta) {
+        this.raidFailDelta = raidFailDelta;
+        this.extractFailDelta = extractFailDelta;
+        this.lootDelta = lootDelta;
+    }
+}
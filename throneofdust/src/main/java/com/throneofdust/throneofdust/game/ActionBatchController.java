@@ -0,0 +1,44 @@
+package com.throneofdust.throneofdust.game;
+
+import com.throneofdust.throneofdust.auth.AuthFacade;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+record ActionBatchRequest(List<ActionCommand> commands) {}
+
+@RestController
+@RequestMapping("/api/actions")
+public class ActionBatchController {
+
+    private final AuthFacade authFacade;
+    private final ActionBatchService actionBatchService;
+    private final int maxCommands;
+
+    public ActionBatchController(AuthFacade authFacade, ActionBatchService actionBatchService,
+                                 @Value("${app.actions.batch.max-commands:20}") int maxCommands) {
+        this.authFacade = authFacade;
+        this.actionBatchService = actionBatchService;
+        this.maxCommands = maxCommands;
+    }
+
+    // Query budget: 1 user select plus the sum of each command's single-endpoint budget, minus their user selects
+    @PostMapping("/batch")
+    public ResponseEntity<?> batch(@RequestBody(required = false) ActionBatchRequest request) {
+        List<ActionCommand> commands = request != null ? request.commands() : null;
+        if (commands == null || commands.isEmpty()) {
+            return ResponseEntity.badRequest().body(ErrorResponse.of("At least one command is required"));
+        }
+        if (commands.size() > maxCommands) {
+            return ResponseEntity.badRequest().body(ErrorResponse.of("At most " + maxCommands + " commands per batch"));
+        }
+        var user = authFacade.currentUser();
+        var result = actionBatchService.execute(user, commands);
+        return result.applied() ? ResponseEntity.ok(result) : ResponseEntity.badRequest().body(result);
+    }
+}
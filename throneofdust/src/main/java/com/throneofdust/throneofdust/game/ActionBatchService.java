@@ -0,0 +1,113 @@
+package com.throneofdust.throneofdust.game;
+
+import com.throneofdust.throneofdust.auth.UserAccount;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Runs an ordered list of commands for one player in a single transaction, reusing the
+ * single-action services so every rule and compare-and-set guard applies unchanged. Each command
+ * sees the state left by the ones before it.
+ * <p>
+ * A batch is all-or-nothing: the first rejected command rolls back the whole transaction and the
+ * commands after it are skipped. Committing the commands that did succeed is not offered: rolling
+ * back to a savepoint undoes the rejected command's rows but not the Hibernate persistence context,
+ * whose managed entities would keep its changes and flush them again with the rest.
+ */
+@Service
+public class ActionBatchService {
+
+    private final BuildingService buildingService;
+    private final TrainingService trainingService;
+    private final RaidService raidService;
+    private final CharacterService characterService;
+
+    public ActionBatchService(BuildingService buildingService, TrainingService trainingService, RaidService raidService,
+                              CharacterService characterService) {
+        this.buildingService = buildingService;
+        this.trainingService = trainingService;
+        this.raidService = raidService;
+        this.characterService = characterService;
+    }
+
+    // message is set when the batch was rolled back, like ErrorResponse, so clients can show it as-is
+    public record BatchResult(boolean applied, String message, List<ActionResult> results) {}
+
+    @Transactional
+    public BatchResult execute(UserAccount user, List<ActionCommand> commands) {
+        List<ActionResult> results = new ArrayList<>(commands.size());
+        int rejected = -1;
+        for (ActionCommand command : commands) {
+            if (rejected >= 0) {
+                results.add(ActionResult.skipped(command == null ? null : command.type()));
+                continue;
+            }
+            ActionResult result = run(user, command);
+            if (result.status() == ActionResult.Status.REJECTED) {
+                rejected = results.size();
+            }
+            results.add(result);
+        }
+        if (rejected < 0) {
+            return new BatchResult(true, null, results);
+        }
+        // Also covers services that threw: their inner transaction already marked this one rollback-only
+        TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+        results.replaceAll(ActionResult::rolledBack);
+        String message = "Command " + (rejected + 1) + " (" + results.get(rejected).type() + ") was rejected, nothing was applied";
+        return new BatchResult(false, message, results);
+    }
+
+    private ActionResult run(UserAccount user, ActionCommand command) {
+        if (command == null) {
+            return ActionResult.rejected(null, ErrorResponse.of("Command is required"));
+        }
+        ActionCommand.Type type = command.type();
+        try {
+            if (command instanceof ActionCommand.Upgrade upgrade) {
+                return upgraded(buildingService.upgrade(user, required(upgrade.buildingType(), "buildingType")));
+            }
+            if (command instanceof ActionCommand.Recruit recruit) {
+                return recruited(trainingService.recruit(user, recruit.characterClass(), recruit.traits()));
+            }
+            if (command instanceof ActionCommand.StartRaid start) {
+                return ActionResult.applied(type, raidService.startRaid(user, required(start.map(), "map"),
+                        required(start.memberIds(), "memberIds"), start.allyMode()));
+            }
+            if (command instanceof ActionCommand.ResolveRaid resolve) {
+                return ActionResult.applied(type, raidService.resolveRaid(user, required(resolve.raidId(), "raidId")));
+            }
+            if (command instanceof ActionCommand.AddTrait addTrait) {
+                return ActionResult.applied(type, characterService.addTrait(user, required(addTrait.characterId(), "characterId"),
+                        required(addTrait.trait(), "trait")));
+            }
+            return ActionResult.applied(type, buildingService.collectAll(user));
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            return ActionResult.rejected(type, ErrorResponse.of(e.getMessage()));
+        } catch (NoSuchElementException e) {
+            return ActionResult.rejected(type, ErrorResponse.of("Not found"));
+        }
+    }
+
+    private static ActionResult upgraded(BuildingUpgradeResult result) {
+        return result instanceof BuildingUpgradeResult.Success
+                ? ActionResult.applied(ActionCommand.Type.UPGRADE, result)
+                : ActionResult.rejected(ActionCommand.Type.UPGRADE, result);
+    }
+
+    private static ActionResult recruited(RecruitmentResult result) {
+        return result instanceof RecruitmentResult.Success
+                ? ActionResult.applied(ActionCommand.Type.RECRUIT, result)
+                : ActionResult.rejected(ActionCommand.Type.RECRUIT, result);
+    }
+
+    private static <T> T required(T value, String field) {
+        if (value == null) throw new IllegalArgumentException(field + " is required");
+        return value;
+    }
+}
@@ -0,0 +1,61 @@
+package com.throneofdust.throneofdust.game;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.throneofdust.throneofdust.domain.enums.BuildingType;
+import com.throneofdust.throneofdust.domain.enums.CharacterClass;
+import com.throneofdust.throneofdust.domain.enums.RaidMapTemplate;
+import com.throneofdust.throneofdust.domain.enums.TraitType;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * One step of a batch sent to {@code POST /api/actions/batch}, chosen by its {@code type} property.
+ * Each variant carries the body and path variables of the matching single-action endpoint.
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type")
+@JsonSubTypes({
+        @JsonSubTypes.Type(value = ActionCommand.Collect.class, name = "COLLECT"),
+        @JsonSubTypes.Type(value = ActionCommand.Upgrade.class, name = "UPGRADE"),
+        @JsonSubTypes.Type(value = ActionCommand.Recruit.class, name = "RECRUIT"),
+        @JsonSubTypes.Type(value = ActionCommand.StartRaid.class, name = "START_RAID"),
+        @JsonSubTypes.Type(value = ActionCommand.ResolveRaid.class, name = "RESOLVE_RAID"),
+        @JsonSubTypes.Type(value = ActionCommand.AddTrait.class, name = "ADD_TRAIT")
+})
+public sealed interface ActionCommand {
+
+    Type type();
+
+    enum Type { COLLECT, UPGRADE, RECRUIT, START_RAID, RESOLVE_RAID, ADD_TRAIT }
+
+    /** {@code POST /api/player/collect}. */
+    record Collect() implements ActionCommand {
+        public Type type() { return Type.COLLECT; }
+    }
+
+    /** {@code POST /api/buildings/{buildingType}/upgrade}. */
+    record Upgrade(BuildingType buildingType) implements ActionCommand {
+        public Type type() { return Type.UPGRADE; }
+    }
+
+    /** {@code POST /api/training/recruit}; both fields are optional and drawn at random when absent. */
+    record Recruit(CharacterClass characterClass, Set<TraitType> traits) implements ActionCommand {
+        public Type type() { return Type.RECRUIT; }
+    }
+
+    /** {@code POST /api/raids/start}. */
+    record StartRaid(RaidMapTemplate map, List<Long> memberIds, boolean allyMode) implements ActionCommand {
+        public Type type() { return Type.START_RAID; }
+    }
+
+    /** {@code POST /api/raids/{raidId}/resolve}. */
+    record ResolveRaid(Long raidId) implements ActionCommand {
+        public Type type() { return Type.RESOLVE_RAID; }
+    }
+
+    /** {@code POST /api/characters/{characterId}/traits}. */
+    record AddTrait(Long characterId, TraitType trait) implements ActionCommand {
+        public Type type() { return Type.ADD_TRAIT; }
+    }
+}
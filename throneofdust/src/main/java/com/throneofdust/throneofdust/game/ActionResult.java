@@ -0,0 +1,32 @@
+package com.throneofdust.throneofdust.game;
+
+/**
+ * Outcome of one batched command. {@code result} is what the single-action service returned (a
+ * {@link BuildingUpgradeResult}, {@link RecruitmentResult}, collect totals, raid or character) or an
+ * {@link ErrorResponse} when the service threw; {@code outcome} names its type so clients can switch on it.
+ */
+public record ActionResult(ActionCommand.Type type, Status status, String outcome, Object result) {
+
+    public enum Status {
+        APPLIED,        // ran and committed with the batch
+        REJECTED,       // the command that stopped the batch
+        ROLLED_BACK,    // ran, then undone because a later command was rejected
+        SKIPPED         // never ran
+    }
+
+    static ActionResult applied(ActionCommand.Type type, Object result) {
+        return new ActionResult(type, Status.APPLIED, result.getClass().getSimpleName(), result);
+    }
+
+    static ActionResult rejected(ActionCommand.Type type, Object result) {
+        return new ActionResult(type, Status.REJECTED, result.getClass().getSimpleName(), result);
+    }
+
+    static ActionResult skipped(ActionCommand.Type type) {
+        return new ActionResult(type, Status.SKIPPED, null, null);
+    }
+
+    ActionResult rolledBack() {
+        return status == Status.APPLIED ? new ActionResult(type, Status.ROLLED_BACK, outcome, result) : this;
+    }
+}
@@ -0,0 +1,106 @@
+package com.throneofdust.throneofdust.game;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Moves cold rows into raids_archive and characters_archive. Each call is one statement: the
+ * rows are locked, deleted from the hot tables and inserted into the archive together, so a
+ * raid or character is always in exactly one place. Rows locked by live traffic are skipped and
+ * picked up by a later batch.
+ */
+public interface ArchiveRepository extends Repository<Raid, Long> {
+
+    /**
+     * Archives up to {@code limit} resolved raids that ended before {@code cutoff}, oldest first.
+     * Only raids already counted in raid_stats qualify, so the stats backfill never needs the archive.
+     *
+     * @return the number of raids moved
+     */
+    @Modifying
+    @Query(value = """
+            WITH chunk AS (
+                SELECT id FROM raids
+                WHERE status = 'RESOLVED' AND stats_recorded AND end_at < :cutoff
+                ORDER BY end_at
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED
+            ), members AS (
+                DELETE FROM raid_members m USING chunk
+                WHERE m.raid_id = chunk.id
+                RETURNING m.raid_id, m.character_id
+            ), moved AS (
+                DELETE FROM raids r USING chunk
+                WHERE r.id = chunk.id
+                RETURNING r.id, r.user_id, r.map, r.ally_mode, r.start_at, r.end_at, r.success, r.loot_gold, r.loot_scrap,
+                    r.betrayal_occurred, r.extraction_success, r.casualties, r.seed,
+                    r.radar_level, r.member_levels, r.member_xp, r.member_traits
+            )
+            INSERT INTO raids_archive (id, user_id, map, ally_mode, start_at, end_at, success, loot_gold, loot_scrap,
+                betrayal_occurred, extraction_success, casualties, seed, member_ids,
+                radar_level, member_levels, member_xp, member_traits)
+            SELECT moved.id, moved.user_id, moved.map, moved.ally_mode, moved.start_at, moved.end_at, moved.success,
+                moved.loot_gold, moved.loot_scrap, moved.betrayal_occurred, moved.extraction_success, moved.casualties, moved.seed,
+                COALESCE((SELECT array_agg(members.character_id ORDER BY members.character_id) FROM members
+                          WHERE members.raid_id = moved.id), '{}'),
+                moved.radar_level, moved.member_levels, moved.member_xp, moved.member_traits
+            FROM moved""", nativeQuery = true)
+    int archiveRaids(@Param("cutoff") Instant cutoff, @Param("limit") int limit);
+
+    /**
+     * Archives up to {@code limit} dead characters that no hot raid lists as a member. Dead is
+     * final, so nothing can reference them again once they qualify. Each owner's state version is
+     * bumped and stored on the archived rows, so state deltas can report the removal. Owners whose
+     * row a request holds are skipped like locked characters: their dead stay for a later batch.
+     *
+     * @return the number of characters moved
+     */
+    @Modifying
+    @Query(value = """
+            WITH candidates AS (
+                SELECT c.id, c.user_id FROM characters c
+                WHERE c.status = 'DEAD'
+                  AND NOT EXISTS (SELECT 1 FROM raid_members m WHERE m.character_id = c.id)
+                ORDER BY c.id
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED
+            ), owners AS (
+                SELECT u.id FROM users u
+                WHERE u.id IN (SELECT user_id FROM candidates)
+                FOR UPDATE SKIP LOCKED
+            ), chunk AS (
+                SELECT candidates.id FROM candidates JOIN owners ON owners.id = candidates.user_id
+            ), bumped AS (
+                UPDATE users u SET state_version = u.state_version + 1
+                FROM owners WHERE u.id = owners.id
+                RETURNING u.id, u.state_version
+            ), traits AS (
+                DELETE FROM character_traits t USING chunk
+                WHERE t.character_id = chunk.id
+                RETURNING t.character_id, t.trait
+            ), moved AS (
+                DELETE FROM characters c USING chunk
+                WHERE c.id = chunk.id
+                RETURNING c.id, c.user_id, c.name, c.character_class, c.level, c.xp, c.created_at
+            )
+            INSERT INTO characters_archive (id, user_id, name, character_class, level, xp, created_at, traits, archived_version)
+            SELECT moved.id, moved.user_id, moved.name, moved.character_class, moved.level, moved.xp, moved.created_at,
+                COALESCE((SELECT array_agg(traits.trait ORDER BY traits.trait) FROM traits
+                          WHERE traits.character_id = moved.id), '{}'),
+                bumped.state_version
+            FROM moved JOIN bumped ON bumped.id = moved.user_id""", nativeQuery = true)
+    int archiveDeadCharacters(@Param("limit") int limit);
+
+    // Table name, bytes on disk including indexes and TOAST, estimated live rows
+    @Query(value = """
+            SELECT relname, pg_total_relation_size(relid), n_live_tup
+            FROM pg_stat_user_tables
+            WHERE relname IN ('raids', 'raid_members', 'characters', 'character_traits', 'raids_archive', 'characters_archive')
+            ORDER BY relname""", nativeQuery = true)
+    List<Object[]> findTableSizes();
+}
@@ -1,5 +1,6 @@
 package com.throneofdust.throneofdust.game;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.throneofdust.throneofdust.auth.UserAccount;
 import com.throneofdust.throneofdust.domain.enums.BuildingType;
 import jakarta.persistence.Column;
@@ -12,6 +13,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 import java.time.Instant;
@@ -22,10 +24,12 @@ import java.time.Instant;
 public class Building {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "buildings_seq")
+    @SequenceGenerator(name = "buildings_seq", sequenceName = "buildings_id_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne(optional = false, fetch = FetchType.EAGER)
+    @JsonIgnore
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private UserAccount user;
 
@@ -46,6 +50,11 @@ public class Building {
     @Column(nullable = false)
     private int recruitsCount = 0;
 
+    // Player state version of the last change to this row, for delta responses
+    @JsonIgnore
+    @Column(nullable = false)
+    private long stateVersion;
+
     public Long getId() {
         return id;
     }
@@ -101,6 +110,12 @@ public class Building {
     public void setRecruitsCount(int recruitsCount) {
         this.recruitsCount = recruitsCount;
     }
-}
 
+    public long getStateVersion() {
+        return stateVersion;
+    }
 
+    public void setStateVersion(long stateVersion) {
+        this.stateVersion = stateVersion;
+    }
+}
@@ -2,6 +2,7 @@ package com.throneofdust.throneofdust.game;
 
 import com.throneofdust.throneofdust.auth.AuthFacade;
 import com.throneofdust.throneofdust.domain.enums.BuildingType;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -40,6 +41,8 @@ public class BuildingController {
             return ResponseEntity.badRequest().body(ErrorResponse.of(insufficient.message()));
         } else if (result instanceof BuildingUpgradeResult.MaxLevelReached maxLevel) {
             return ResponseEntity.badRequest().body(ErrorResponse.of(maxLevel.message()));
+        } else if (result instanceof BuildingUpgradeResult.Conflict conflict) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(ErrorResponse.of(conflict.message()));
         }
         
         return ResponseEntity.internalServerError().body(ErrorResponse.of("An unexpected error occurred"));
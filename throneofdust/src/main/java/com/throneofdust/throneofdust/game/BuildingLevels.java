@@ -0,0 +1,31 @@
+package com.throneofdust.throneofdust.game;
+
+import com.throneofdust.throneofdust.domain.enums.BuildingType;
+
+import java.util.List;
+
+/**
+ * Immutable snapshot of a player's building levels indexed by {@link BuildingType#ordinal()}.
+ * Buildings the player does not have read as level 0.
+ */
+public final class BuildingLevels {
+
+    private final int[] levels;
+
+    private BuildingLevels(int[] levels) {
+        this.levels = levels;
+    }
+
+    /** Builds a snapshot from {@code (type, level)} rows as returned by {@link BuildingRepository#findLevelsByUserId}. */
+    public static BuildingLevels fromRows(List<Object[]> rows) {
+        int[] levels = new int[BuildingType.values().length];
+        for (Object[] row : rows) {
+            levels[((BuildingType) row[0]).ordinal()] = (Integer) row[1];
+        }
+        return new BuildingLevels(levels);
+    }
+
+    public int level(BuildingType type) {
+        return levels[type.ordinal()];
+    }
+}
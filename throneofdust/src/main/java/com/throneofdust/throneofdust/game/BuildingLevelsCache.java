@@ -0,0 +1,68 @@
+package com.throneofdust.throneofdust.game;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-user cache of {@link BuildingLevels}. Entries are evicted when a building changes on this
+ * node; the TTL bounds staleness when another instance performed the upgrade.
+ */
+@Component
+public class BuildingLevelsCache {
+
+    private record Entry(BuildingLevels levels, long expiresAtMs) {}
+
+    private final BuildingRepository buildingRepository;
+    private final long ttlMs;
+    private final int maxEntries;
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    public BuildingLevelsCache(
+            BuildingRepository buildingRepository,
+            @Value("${app.game.building-levels-cache.ttl-ms:60000}") long ttlMs,
+            @Value("${app.game.building-levels-cache.max-entries:10000}") int maxEntries
+    ) {
+        this.buildingRepository = buildingRepository;
+        this.ttlMs = ttlMs;
+        this.maxEntries = maxEntries;
+    }
+
+    public BuildingLevels get(Long userId) {
+        long now = System.currentTimeMillis();
+        Entry cached = entries.get(userId);
+        if (cached != null && cached.expiresAtMs() > now) {
+            return cached.levels();
+        }
+        BuildingLevels levels = BuildingLevels.fromRows(buildingRepository.findLevelsByUserId(userId));
+        if (ttlMs > 0) {
+            if (entries.size() >= maxEntries) {
+                entries.values().removeIf(e -> e.expiresAtMs() <= now);
+            }
+            if (entries.size() < maxEntries) {
+                entries.put(userId, new Entry(levels, now + ttlMs));
+            }
+        }
+        return levels;
+    }
+
+    /**
+     * Drops the user's snapshot now and again after commit, so a concurrent reader cannot
+     * re-cache the pre-commit levels.
+     */
+    public void evict(Long userId) {
+        entries.remove(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    entries.remove(userId);
+                }
+            });
+        }
+    }
+}
@@ -3,13 +3,33 @@ package com.throneofdust.throneofdust.game;
 import com.throneofdust.throneofdust.auth.UserAccount;
 import com.throneofdust.throneofdust.domain.enums.BuildingType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
 public interface BuildingRepository extends JpaRepository<Building, Long> {
     List<Building> findByUser(UserAccount user);
     Optional<Building> findByUserAndType(UserAccount user, BuildingType type);
-}
+    List<Building> findByUserAndStateVersionGreaterThan(UserAccount user, long stateVersion);
+
+    @Query("select b.type, b.level from Building b where b.user.id = :userId")
+    List<Object[]> findLevelsByUserId(@Param("userId") Long userId);
 
+    // Compare-and-set on the level read before paying, so two concurrent upgrades cannot both land.
+    // Clears the persistence context so a later upgrade in the same transaction reads the new level.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Building b set b.level = b.level + 1, b.stateVersion = :version where b.id = :id and b.level = :level")
+    int incrementLevel(@Param("id") Long id, @Param("level") int level, @Param("version") long version);
 
+    // Claims the next recruit slot only if the cooldown has passed and nobody recruited since it was read
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update Building b set b.lastActionAt = :now, b.recruitsCount = b.recruitsCount + 1, b.stateVersion = :version
+            where b.id = :id and b.recruitsCount = :recruitsCount and (b.lastActionAt is null or b.lastActionAt <= :readyBefore)""")
+    int claimRecruit(@Param("id") Long id, @Param("recruitsCount") int recruitsCount, @Param("readyBefore") Instant readyBefore,
+                     @Param("now") Instant now, @Param("version") long version);
+}
@@ -4,4 +4,5 @@ public sealed interface BuildingUpgradeResult {
     record Success(int newLevel, int remainingGold) implements BuildingUpgradeResult {}
     record InsufficientResources(String message) implements BuildingUpgradeResult {}
     record MaxLevelReached(String message) implements BuildingUpgradeResult {}
+    record Conflict(String message) implements BuildingUpgradeResult {}
 }
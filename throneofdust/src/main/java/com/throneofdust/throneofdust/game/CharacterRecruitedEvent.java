@@ -0,0 +1,3 @@
+package com.throneofdust.throneofdust.game;
+
+public record CharacterRecruitedEvent(Long userId, String username, Long characterId, int level) {}
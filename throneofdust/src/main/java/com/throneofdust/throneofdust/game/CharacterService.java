@@ -1,6 +1,7 @@
 package com.throneofdust.throneofdust.game;
 
 import com.throneofdust.throneofdust.auth.UserAccount;
+import com.throneofdust.throneofdust.auth.UserRepository;
 import com.throneofdust.throneofdust.domain.enums.CharacterStatus;
 import com.throneofdust.throneofdust.domain.enums.TraitType;
 import org.springframework.stereotype.Service;
@@ -10,9 +11,11 @@ import org.springframework.transaction.annotation.Transactional;
 public class CharacterService {
 
     private final GameCharacterRepository characterRepository;
+    private final UserRepository userRepository;
 
-    public CharacterService(GameCharacterRepository characterRepository) {
+    public CharacterService(GameCharacterRepository characterRepository, UserRepository userRepository) {
         this.characterRepository = characterRepository;
+        this.userRepository = userRepository;
     }
 
     public int allowedTraitSlots(GameCharacter character) {
@@ -31,6 +34,7 @@ public class CharacterService {
         int slots = allowedTraitSlots(c);
         if (c.getTraits().size() >= slots) throw new IllegalStateException("No free trait slots");
         c.getTraits().add(trait);
+        c.setStateVersion(userRepository.incrementStateVersion(user.getId()));
         return characterRepository.save(c);
     }
 }
@@ -0,0 +1,4 @@
+package com.throneofdust.throneofdust.game;
+
+/** Outcome of one pass over finished raids; failed raids stay IN_PROGRESS for the next sweep. */
+public record DueRaidsResult(int resolved, int failed) {}
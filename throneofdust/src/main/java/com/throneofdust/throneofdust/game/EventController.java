@@ -0,0 +1,26 @@
+package com.throneofdust.throneofdust.game;
+
+import com.throneofdust.throneofdust.auth.AuthFacade;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/events")
+public class EventController {
+
+    private final AuthFacade authFacade;
+    private final GameEventStream eventStream;
+
+    public EventController(AuthFacade authFacade, GameEventStream eventStream) {
+        this.authFacade = authFacade;
+        this.eventStream = eventStream;
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream() {
+        return eventStream.subscribe(authFacade.currentUserId());
+    }
+}
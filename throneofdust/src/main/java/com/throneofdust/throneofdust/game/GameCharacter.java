@@ -1,5 +1,6 @@
 package com.throneofdust.throneofdust.game;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.throneofdust.throneofdust.auth.UserAccount;
 import com.throneofdust.throneofdust.domain.enums.CharacterClass;
 import com.throneofdust.throneofdust.domain.enums.CharacterStatus;
@@ -16,20 +17,26 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.DynamicUpdate;
 import java.time.Instant;
 import java.util.HashSet;
 import java.util.Set;
 
+// Only changed columns are written, so a stale copy cannot put back a status set by a conditional update
 @Entity
+@DynamicUpdate
 @Table(name = "characters")
 public class GameCharacter {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "characters_seq")
+    @SequenceGenerator(name = "characters_seq", sequenceName = "characters_id_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne(optional = false, fetch = FetchType.EAGER)
+    @JsonIgnore
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private UserAccount user;
 
@@ -50,7 +57,7 @@ public class GameCharacter {
     @Column(nullable = false)
     private int xp = 0;
 
-    @ElementCollection(fetch = FetchType.EAGER)
+    @ElementCollection(fetch = FetchType.LAZY)
     @Enumerated(EnumType.STRING)
     @CollectionTable(name = "character_traits", joinColumns = @JoinColumn(name = "character_id"))
     @Column(name = "trait", length = 30)
@@ -59,6 +66,11 @@ public class GameCharacter {
     @Column(nullable = false, updatable = false)
     private Instant createdAt = Instant.now();
 
+    // Player state version of the last change to this row, for delta responses
+    @JsonIgnore
+    @Column(nullable = false)
+    private long stateVersion;
+
     public Long getId() {
         return id;
     }
@@ -126,6 +138,12 @@ public class GameCharacter {
     public Instant getCreatedAt() {
         return createdAt;
     }
-}
 
+    public long getStateVersion() {
+        return stateVersion;
+    }
 
+    public void setStateVersion(long stateVersion) {
+        this.stateVersion = stateVersion;
+    }
+}
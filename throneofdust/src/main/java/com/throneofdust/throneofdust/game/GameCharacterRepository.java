@@ -2,13 +2,51 @@ package com.throneofdust.throneofdust.game;
 
 import com.throneofdust.throneofdust.auth.UserAccount;
 import com.throneofdust.throneofdust.domain.enums.CharacterStatus;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface GameCharacterRepository extends JpaRepository<GameCharacter, Long> {
+    // Characters are serialized with their traits, so every listing fetches them in the same query
+    @EntityGraph(attributePaths = "traits")
     List<GameCharacter> findByUser(UserAccount user);
+
+    @EntityGraph(attributePaths = "traits")
     List<GameCharacter> findByUserAndStatus(UserAccount user, CharacterStatus status);
+
+    @EntityGraph(attributePaths = "traits")
+    List<GameCharacter> findByUserAndStateVersionGreaterThan(UserAccount user, long stateVersion);
+
+    @EntityGraph(attributePaths = "traits")
+    List<GameCharacter> findWithTraitsByIdIn(Collection<Long> ids);
+
+    // Why a claim failed: id, owner id and status of each character that exists
+    @Query("select c.id, c.user.id, c.status from GameCharacter c where c.id in :ids")
+    List<Object[]> findOwnersAndStatuses(@Param("ids") Collection<Long> ids);
+
+    // Leaderboard rebuild: user id, username, highest level any of their characters reached, archived ones included
+    @Query(value = """
+            SELECT u.id, u.username, max(c.level)
+            FROM (SELECT user_id, level FROM characters UNION ALL SELECT user_id, level FROM characters_archive) c
+            JOIN users u ON u.id = c.user_id
+            GROUP BY u.id, u.username""", nativeQuery = true)
+    List<Object[]> findHighestLevelsByUser();
+
+    // Tombstones for state deltas: characters archived after the client's version are gone from the hot table
+    @Query(value = "SELECT id FROM characters_archive WHERE user_id = :userId AND archived_version > :version", nativeQuery = true)
+    List<Long> findArchivedIdsByUserAfter(@Param("userId") Long userId, @Param("version") long version);
+
+    // Callers compare the count with ids.size(); a short count means another request claimed one first
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update GameCharacter c set c.status = com.throneofdust.throneofdust.domain.enums.CharacterStatus.ON_RAID, c.stateVersion = :version
+            where c.id in :ids and c.user.id = :userId and c.status = com.throneofdust.throneofdust.domain.enums.CharacterStatus.IDLE""")
+    int claimIdle(@Param("ids") Collection<Long> ids, @Param("userId") Long userId, @Param("version") long version);
 }
 
 
@@ -0,0 +1,37 @@
+package com.throneofdust.throneofdust.game;
+
+import com.throneofdust.throneofdust.domain.enums.BuildingType;
+
+/**
+ * Per-player notification pushed to connected clients over {@code /api/events}.
+ * Published on the application event bus and delivered once the surrounding transaction commits.
+ */
+public record GameEvent(Long userId, String name, Object data) {
+
+    public static final String RAID_FINISHED = "raid-finished";
+    public static final String RAID_RESOLVED = "raid-resolved";
+    public static final String BUILDING_UPGRADED = "building-upgraded";
+    public static final String WALLET_CHANGED = "wallet-changed";
+
+    public record RaidRef(Long raidId) {}
+    public record RaidResult(Long raidId, boolean success, int lootGold, int lootScrap, int casualties,
+                             boolean betrayalOccurred, boolean extractionSuccess) {}
+    public record BuildingLevel(BuildingType type, int level) {}
+
+    public static GameEvent raidFinished(Long userId, Long raidId) {
+        return new GameEvent(userId, RAID_FINISHED, new RaidRef(raidId));
+    }
+
+    public static GameEvent raidResolved(Raid raid) {
+        return new GameEvent(raid.getUser().getId(), RAID_RESOLVED, new RaidResult(raid.getId(), raid.getSuccess(),
+                raid.getLootGold(), raid.getLootScrap(), raid.getCasualties(), raid.getBetrayalOccurred(), raid.getExtractionSuccess()));
+    }
+
+    public static GameEvent buildingUpgraded(Long userId, BuildingType type, int level) {
+        return new GameEvent(userId, BUILDING_UPGRADED, new BuildingLevel(type, level));
+    }
+
+    public static GameEvent walletChanged(Long userId, ResourceWallet wallet) {
+        return new GameEvent(userId, WALLET_CHANGED, wallet);
+    }
+}
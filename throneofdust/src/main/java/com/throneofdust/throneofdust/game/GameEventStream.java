@@ -0,0 +1,197 @@
+package com.throneofdust.throneofdust.game;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Registry of per-user Server-Sent Event subscribers.
+ * Each subscriber has a small bounded queue drained by a shared sender pool, so publishers never
+ * block on a slow client. A subscriber whose queue overflows loses its backlog and gets a single
+ * {@code resync} event telling it to reload state.
+ */
+@Component
+public class GameEventStream {
+
+    static final String RESYNC = "resync";
+    private static final GameEvent HEARTBEAT = new GameEvent(null, null, null);
+
+    private final Map<Long, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final long timeoutMs;
+    private final int queueCapacity;
+    private final int maxPerUser;
+    private final ExecutorService sender;
+    private final ScheduledExecutorService heartbeat;
+    private final Counter overflows;
+
+    public GameEventStream(
+            MeterRegistry meterRegistry,
+            @Value("${app.events.timeout-ms:1800000}") long timeoutMs,
+            @Value("${app.events.heartbeat-ms:15000}") long heartbeatMs,
+            @Value("${app.events.queue-capacity:32}") int queueCapacity,
+            @Value("${app.events.max-per-user:4}") int maxPerUser,
+            @Value("${app.events.sender-threads:2}") int senderThreads
+    ) {
+        this.timeoutMs = timeoutMs;
+        this.queueCapacity = queueCapacity;
+        this.maxPerUser = maxPerUser;
+        this.sender = Executors.newFixedThreadPool(senderThreads, daemonThreads("sse-sender-"));
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(daemonThreads("sse-heartbeat-"));
+        this.heartbeat.scheduleAtFixedRate(this::sendHeartbeats, heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+        this.overflows = Counter.builder("events.subscriber.overflows").register(meterRegistry);
+        Gauge.builder("events.subscribers", subscriberCount, AtomicInteger::get).register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Long userId) {
+        Subscriber subscriber = new Subscriber(userId, new SseEmitter(timeoutMs));
+        subscriber.emitter.onCompletion(() -> remove(subscriber));
+        subscriber.emitter.onTimeout(() -> remove(subscriber));
+        subscriber.emitter.onError(ex -> remove(subscriber));
+
+        // Add and evict under the map's lock for this user, so a concurrent remove cannot drop the
+        // list between lookup and add; oldest tabs go first once a player exceeds the per-user limit
+        List<Subscriber> evicted = new ArrayList<>();
+        subscribers.compute(userId, (id, forUser) -> {
+            List<Subscriber> list = forUser != null ? forUser : new CopyOnWriteArrayList<>();
+            list.add(subscriber);
+            subscriberCount.incrementAndGet();
+            while (list.size() > maxPerUser) {
+                evicted.add(list.remove(0));
+                subscriberCount.decrementAndGet();
+            }
+            return list;
+        });
+        evicted.forEach(Subscriber::complete);
+        subscriber.offer(HEARTBEAT); // flushes the response headers right away
+        return subscriber.emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameEvent(GameEvent event) {
+        List<Subscriber> forUser = subscribers.get(event.userId());
+        if (forUser == null) {
+            return;
+        }
+        for (Subscriber subscriber : forUser) {
+            subscriber.offer(event);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        subscribers.values().forEach(list -> list.forEach(Subscriber::close));
+        sender.shutdown();
+    }
+
+    private void sendHeartbeats() {
+        subscribers.values().forEach(list -> list.forEach(s -> s.offer(HEARTBEAT)));
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.userId, (id, forUser) -> {
+            if (forUser.remove(subscriber)) {
+                subscriberCount.decrementAndGet();
+            }
+            return forUser.isEmpty() ? null : forUser;
+        });
+    }
+
+    private final class Subscriber {
+
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<GameEvent> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean overflowed;
+
+        private Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void offer(GameEvent event) {
+            if (!queue.offer(event)) {
+                queue.clear();
+                overflowed = true;
+                overflows.increment();
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                if (overflowed) {
+                    overflowed = false;
+                    emitter.send(SseEmitter.event().name(RESYNC).data(Map.of()));
+                }
+                GameEvent event;
+                while ((event = queue.poll()) != null) {
+                    if (event == HEARTBEAT) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else {
+                        emitter.send(SseEmitter.event().name(event.name()).data(event.data()));
+                    }
+                }
+            } catch (IOException | IllegalStateException ex) {
+                // Client went away or the emitter already completed
+                queue.clear();
+                close();
+            } finally {
+                draining.set(false);
+            }
+            if (!queue.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        void close() {
+            remove(this);
+            complete();
+        }
+
+        void complete() {
+            try {
+                emitter.complete();
+            } catch (IllegalStateException ignored) {
+                // already completed
+            }
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger seq = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
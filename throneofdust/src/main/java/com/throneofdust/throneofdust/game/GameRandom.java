@@ -0,0 +1,18 @@
+package com.throneofdust.throneofdust.game;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Source of randomness for game rules. Outcomes that must be replayable (raids) draw from a
+ * stream derived from a stored seed; everything else uses a contention-free per-thread stream.
+ */
+public interface GameRandom {
+
+    /** Generator bound to the calling thread; never share it across threads. */
+    RandomGenerator current();
+
+    long newSeed();
+
+    /** Fresh generator that yields the same sequence for the same seed. */
+    RandomGenerator forSeed(long seed);
+}
@@ -0,0 +1,68 @@
+package com.throneofdust.throneofdust.game;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hashed timing wheel holding items until their deadline passes.
+ * Each bucket covers one tick; items further out than one revolution stay in
+ * their bucket until the wheel has turned far enough to reach their deadline tick.
+ */
+class HashedTimingWheel<T> {
+
+    private record Entry<T>(T item, long deadlineTick) {}
+
+    private final long tickMillis;
+    private final int mask;
+    private final List<List<Entry<T>>> buckets;
+    private long currentTick;
+    private int size;
+
+    HashedTimingWheel(long tickMillis, int wheelSize, Instant start) {
+        if (tickMillis <= 0) throw new IllegalArgumentException("tickMillis must be positive");
+        if (wheelSize <= 0 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("wheelSize must be a power of two");
+        }
+        this.tickMillis = tickMillis;
+        this.mask = wheelSize - 1;
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        this.currentTick = start.toEpochMilli() / tickMillis;
+    }
+
+    public synchronized void schedule(T item, Instant deadline) {
+        // Round up so an item never fires before its deadline; overdue items fire on the next advance
+        long deadlineTick = Math.max(Math.floorDiv(deadline.toEpochMilli() + tickMillis - 1, tickMillis), currentTick + 1);
+        buckets.get((int) (deadlineTick & mask)).add(new Entry<>(item, deadlineTick));
+        size++;
+    }
+
+    public synchronized List<T> advance(Instant now) {
+        long targetTick = now.toEpochMilli() / tickMillis;
+        if (targetTick <= currentTick) {
+            return List.of();
+        }
+        List<T> expired = new ArrayList<>();
+        // After a long pause every bucket may hold due items, so never scan more than one revolution
+        long steps = Math.min(targetTick - currentTick, buckets.size());
+        for (long i = 1; i <= steps; i++) {
+            buckets.get((int) ((currentTick + i) & mask)).removeIf(e -> {
+                if (e.deadlineTick() <= targetTick) {
+                    expired.add(e.item());
+                    return true;
+                }
+                return false;
+            });
+        }
+        currentTick = targetTick;
+        size -= expired.size();
+        return expired;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+}
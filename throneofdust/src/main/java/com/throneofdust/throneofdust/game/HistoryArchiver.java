@@ -0,0 +1,162 @@
+package com.throneofdust.throneofdust.game;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+/**
+ * Periodically moves resolved raids older than {@code retention-days}, then dead characters no
+ * hot raid lists, into the archive tables, keeping raids, raid_members and characters down to
+ * the rows live traffic touches. Work happens in batches of {@code batch-size} rows, one short
+ * transaction each with a pause between, so locks are brief and row locks held by requests are
+ * skipped rather than waited on. History reads see both tiers through the raids_all view.
+ * <p>
+ * Each run logs table sizes before and after. Deleted rows free space for reuse once autovacuum
+ * has visited the table; the files themselves do not shrink.
+ */
+@Component
+public class HistoryArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(HistoryArchiver.class);
+
+    private final ArchiveRepository archiveRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Duration retention;
+    private final int batchSize;
+    private final long pauseMs;
+    private final long intervalMs;
+    private final long initialDelayMs;
+    private final Counter archivedRaids;
+    private final Counter archivedCharacters;
+    private final Map<String, AtomicLong> tableBytes = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> tableRows = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService executor;
+
+    public HistoryArchiver(
+            ArchiveRepository archiveRepository,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${app.archive.enabled:true}") boolean enabled,
+            @Value("${app.archive.retention-days:30}") long retentionDays,
+            @Value("${app.archive.batch-size:200}") int batchSize,
+            @Value("${app.archive.pause-ms:50}") long pauseMs,
+            @Value("${app.archive.interval-ms:3600000}") long intervalMs,
+            @Value("${app.archive.initial-delay-ms:60000}") long initialDelayMs
+    ) {
+        this.archiveRepository = archiveRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.retention = Duration.ofDays(retentionDays);
+        this.batchSize = batchSize;
+        this.pauseMs = pauseMs;
+        this.intervalMs = intervalMs;
+        this.initialDelayMs = initialDelayMs;
+        this.archivedRaids = Counter.builder("archive.moved").tag("table", "raids").register(meterRegistry);
+        this.archivedCharacters = Counter.builder("archive.moved").tag("table", "characters").register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "history-archiver");
+            t.setDaemon(true);
+            return t;
+        });
+        executor.scheduleWithFixedDelay(this::run, initialDelayMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) executor.shutdownNow();
+    }
+
+    /** One full pass: drains every eligible raid, then every eligible character. */
+    public void run() {
+        Map<String, long[]> before = sizes();
+        long raids = 0;
+        long characters = 0;
+        try {
+            Instant cutoff = Instant.now().minus(retention);
+            raids = drain(() -> archiveRepository.archiveRaids(cutoff, batchSize), archivedRaids);
+            characters = drain(() -> archiveRepository.archiveDeadCharacters(batchSize), archivedCharacters);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (RuntimeException ex) {
+            log.warn("History archiving stopped after {} raids and {} characters; the next run continues", raids, characters, ex);
+            return;
+        }
+        if (raids == 0 && characters == 0) {
+            return;
+        }
+        Map<String, long[]> after = sizes();
+        StringBuilder report = new StringBuilder();
+        after.forEach((table, now) -> {
+            long[] was = before.getOrDefault(table, new long[2]);
+            report.append(String.format("%n  %-18s %,14d -> %,14d bytes %,12d -> %,12d rows", table, was[0], now[0], was[1], now[1]));
+        });
+        log.info("Archived {} raids and {} characters older than {} days:{}", raids, characters, retention.toDays(), report);
+    }
+
+    private long drain(IntSupplier batch, Counter counter) throws InterruptedException {
+        long moved = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            Integer rows = transactionTemplate.execute(status -> batch.getAsInt());
+            if (rows == null || rows == 0) {
+                break;
+            }
+            moved += rows;
+            counter.increment(rows);
+            Thread.sleep(pauseMs);
+        }
+        return moved;
+    }
+
+    // Bytes and live rows per table; also refreshes the archive.table.* gauges
+    private Map<String, long[]> sizes() {
+        Map<String, long[]> sizes = new LinkedHashMap<>();
+        for (Object[] row : archiveRepository.findTableSizes()) {
+            String table = (String) row[0];
+            long bytes = ((Number) row[1]).longValue();
+            long rows = ((Number) row[2]).longValue();
+            sizes.put(table, new long[]{bytes, rows});
+            gauge(tableBytes, "archive.table.bytes", table).set(bytes);
+            gauge(tableRows, "archive.table.rows", table).set(rows);
+        }
+        return sizes;
+    }
+
+    private AtomicLong gauge(Map<String, AtomicLong> values, String name, String table) {
+        return values.computeIfAbsent(table, t -> {
+            AtomicLong value = new AtomicLong();
+            Gauge.builder(name, value, AtomicLong::get).tag("table", t).register(meterRegistry);
+            return value;
+        });
+    }
+}
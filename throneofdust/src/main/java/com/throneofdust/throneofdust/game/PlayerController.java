@@ -2,16 +2,19 @@ package com.throneofdust.throneofdust.game;
 
 import com.throneofdust.throneofdust.auth.AuthFacade;
 import com.throneofdust.throneofdust.auth.UserAccount;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
 
-record PlayerState(int wood, int stone, int scrap, int gold, List<Building> buildings, List<GameCharacter> characters) {}
-
 @RestController
 @RequestMapping("/api/player")
 public class PlayerController {
@@ -20,22 +23,52 @@ public class PlayerController {
     private final BuildingRepository buildingRepository;
     private final GameCharacterRepository characterRepository;
     private final BuildingService buildingService;
+    private final WalletService walletService;
 
-    public PlayerController(AuthFacade authFacade, BuildingRepository buildingRepository, GameCharacterRepository characterRepository, BuildingService buildingService) {
+    public PlayerController(AuthFacade authFacade, BuildingRepository buildingRepository, GameCharacterRepository characterRepository, BuildingService buildingService,
+                            WalletService walletService) {
         this.authFacade = authFacade;
         this.buildingRepository = buildingRepository;
         this.characterRepository = characterRepository;
         this.buildingService = buildingService;
+        this.walletService = walletService;
     }
 
+    // Query budget: 3 selects (user, buildings, characters with traits), a 4th for archived ids in a delta, 1 when answered with 304
     @GetMapping("/state")
-    public ResponseEntity<PlayerState> state() {
+    public ResponseEntity<PlayerState> state(@RequestParam(required = false) Long since,
+                                             @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         UserAccount user = authFacade.currentUser();
-        var buildings = buildingRepository.findByUser(user);
-        var characters = characterRepository.findByUser(user);
-        return ResponseEntity.ok(new PlayerState(user.getWood(), user.getStone(), user.getScrap(), user.getGold(), buildings, characters));
+        long version = user.getStateVersion();
+        var wallet = walletService.current(user); // accrued production, no write
+        // Balances accrue without a version bump, so they are part of the validator
+        String etag = "\"" + version + "-" + wallet.wood() + "-" + wallet.stone() + "-" + wallet.scrap() + "-" + wallet.gold() + "\"";
+        if (matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache().cachePrivate()).build();
+        }
+
+        boolean delta = since != null && since >= 0 && since <= version;
+        var buildings = delta ? buildingRepository.findByUserAndStateVersionGreaterThan(user, since) : buildingRepository.findByUser(user);
+        var characters = delta ? characterRepository.findByUserAndStateVersionGreaterThan(user, since) : characterRepository.findByUser(user);
+        List<Long> removed = delta ? characterRepository.findArchivedIdsByUserAfter(user.getId(), since) : List.of();
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(new PlayerState(wallet.wood(), wallet.stone(), wallet.scrap(), wallet.gold(), buildings, characters,
+                        removed, version, delta ? since : null));
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) return false;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) tag = tag.substring(2);
+            if (tag.equals(etag) || tag.equals("*")) return true;
+        }
+        return false;
     }
 
+    // Query budget: 6 statements (user, wallet read + compare-and-set accrue, state version, balances for the event)
     @PostMapping("/collect")
     public ResponseEntity<CollectResponse> collect() {
         var user = authFacade.currentUser();
@@ -0,0 +1,11 @@
+package com.throneofdust.throneofdust.game;
+
+import java.util.List;
+
+/**
+ * Player snapshot at {@code version}. When {@code since} is set this is a delta: only buildings and
+ * characters changed after that version are listed, {@code removedCharacterIds} names characters
+ * archived after it, and balances are always complete.
+ */
+public record PlayerState(int wood, int stone, int scrap, int gold, List<Building> buildings, List<GameCharacter> characters,
+                          List<Long> removedCharacterIds, long version, Long since) {}
@@ -1,8 +1,10 @@
 package com.throneofdust.throneofdust.game;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.throneofdust.throneofdust.auth.UserAccount;
 import com.throneofdust.throneofdust.domain.enums.RaidMapTemplate;
 import com.throneofdust.throneofdust.domain.enums.RaidStatus;
+import com.throneofdust.throneofdust.game.engine.SquadProfile;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Enumerated;
@@ -15,9 +17,14 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
 import java.time.Instant;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 @Entity
@@ -25,10 +32,12 @@ import java.util.Set;
 public class Raid {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "raids_seq")
+    @SequenceGenerator(name = "raids_seq", sequenceName = "raids_id_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne(optional = false, fetch = FetchType.EAGER)
+    @JsonIgnore
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private UserAccount user;
 
@@ -43,7 +52,7 @@ public class Raid {
     @Column(nullable = false)
     private boolean allyMode = false;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
             name = "raid_members",
             joinColumns = @JoinColumn(name = "raid_id"),
@@ -65,6 +74,31 @@ public class Raid {
     private Boolean extractionSuccess;
     private Integer casualties;
 
+    // RNG seed drawn at start; kept server-side so outcomes can be replayed without being predictable
+    @JsonIgnore
+    private Long seed;
+
+    // Whether this raid has been added to raid_stats
+    @JsonIgnore
+    @Column(nullable = false)
+    private boolean statsRecorded;
+
+    // Engine inputs at resolution, slot i being the i-th member by ascending id; see RaidService.replay
+    @JsonIgnore
+    private Integer radarLevel;
+
+    @JsonIgnore
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    private int[] memberLevels;
+
+    @JsonIgnore
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    private int[] memberXp;
+
+    @JsonIgnore
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    private int[] memberTraits;
+
     public Long getId() {
         return id;
     }
@@ -160,6 +194,43 @@ public class Raid {
     public void setCasualties(Integer casualties) {
         this.casualties = casualties;
     }
-}
 
+    public Long getSeed() {
+        return seed;
+    }
 
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+
+    public boolean isStatsRecorded() {
+        return statsRecorded;
+    }
+
+    public void setStatsRecorded(boolean statsRecorded) {
+        this.statsRecorded = statsRecorded;
+    }
+
+    /** Records what the engine is about to see; {@code members} must already be in slot order. */
+    public void recordSquad(int radarLevel, List<GameCharacter> members) {
+        this.radarLevel = radarLevel;
+        memberLevels = new int[members.size()];
+        memberXp = new int[members.size()];
+        memberTraits = new int[members.size()];
+        for (int i = 0; i < members.size(); i++) {
+            GameCharacter c = members.get(i);
+            memberLevels[i] = c.getLevel();
+            memberXp[i] = c.getXp();
+            memberTraits[i] = SquadProfile.traitMask(c.getTraits());
+        }
+    }
+
+    public boolean hasSquadSnapshot() {
+        return radarLevel != null && memberLevels != null;
+    }
+
+    public Integer getRadarLevel() { return radarLevel; }
+    public int[] getMemberLevels() { return memberLevels; }
+    public int[] getMemberXp() { return memberXp; }
+    public int[] getMemberTraits() { return memberTraits; }
+}
@@ -0,0 +1,160 @@
+package com.throneofdust.throneofdust.game;
+
+import com.throneofdust.throneofdust.domain.enums.RaidStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Resolves finished raids without waiting for the player to call resolve.
+ * Deadlines of in-progress raids sit in a hashed timing wheel; when a bucket expires the
+ * worker pool drains due raids via {@link RaidService#resolveDueRaids(int)}, one transaction per raid.
+ * A periodic sweep also picks up raids started on other instances. Owners of expired raids get a
+ * {@link GameEvent#RAID_FINISHED} event.
+ */
+@Component
+public class RaidCompletionScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(RaidCompletionScheduler.class);
+
+    private final RaidService raidService;
+    private final RaidRepository raidRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final long tickMs;
+    private final int batchSize;
+    private final int workerThreads;
+    private final long sweepMs;
+    private final HashedTimingWheel<RaidDeadline> wheel;
+    private final AtomicInteger pendingDrains = new AtomicInteger();
+    private final Counter resolvedCounter;
+    private final Counter failedRaids;
+    private final Counter failedBatches;
+
+    private ScheduledExecutorService ticker;
+    private ThreadPoolExecutor workers;
+
+    public RaidCompletionScheduler(
+            RaidService raidService,
+            RaidRepository raidRepository,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${app.raids.scheduler.enabled:true}") boolean enabled,
+            @Value("${app.raids.scheduler.tick-ms:1000}") long tickMs,
+            @Value("${app.raids.scheduler.wheel-size:512}") int wheelSize,
+            @Value("${app.raids.scheduler.batch-size:50}") int batchSize,
+            @Value("${app.raids.scheduler.workers:2}") int workerThreads,
+            @Value("${app.raids.scheduler.sweep-ms:30000}") long sweepMs
+    ) {
+        this.raidService = raidService;
+        this.raidRepository = raidRepository;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.tickMs = tickMs;
+        this.batchSize = batchSize;
+        this.workerThreads = workerThreads;
+        this.sweepMs = sweepMs;
+        this.wheel = new HashedTimingWheel<>(tickMs, wheelSize, Instant.now());
+        this.resolvedCounter = Counter.builder("raids.scheduler.resolved").register(meterRegistry);
+        this.failedRaids = Counter.builder("raids.scheduler.failed").register(meterRegistry);
+        this.failedBatches = Counter.builder("raids.scheduler.failed.batches").register(meterRegistry);
+        Gauge.builder("raids.scheduler.pending", wheel, HashedTimingWheel::size).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        for (RaidDeadline deadline : raidRepository.findDeadlinesByStatus(RaidStatus.IN_PROGRESS)) {
+            wheel.schedule(deadline, deadline.endAt());
+        }
+        log.info("Raid scheduler started with {} in-progress raids", wheel.size());
+
+        workers = new ThreadPoolExecutor(workerThreads, workerThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workerThreads), daemonThreads("raid-resolver-"));
+        ticker = Executors.newSingleThreadScheduledExecutor(daemonThreads("raid-wheel-"));
+        ticker.scheduleAtFixedRate(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+        ticker.scheduleWithFixedDelay(this::requestDrain, sweepMs, sweepMs, TimeUnit.MILLISECONDS);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onRaidStarted(RaidStartedEvent event) {
+        if (enabled) {
+            wheel.schedule(new RaidDeadline(event.raidId(), event.userId(), event.endAt()), event.endAt());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (ticker != null) ticker.shutdownNow();
+        if (workers != null) workers.shutdown();
+    }
+
+    private void tick() {
+        List<RaidDeadline> expired = wheel.advance(Instant.now());
+        if (expired.isEmpty()) {
+            return;
+        }
+        for (RaidDeadline deadline : expired) {
+            eventPublisher.publishEvent(GameEvent.raidFinished(deadline.userId(), deadline.id()));
+        }
+        requestDrain();
+    }
+
+    private void requestDrain() {
+        // One queued drain per worker is enough: each drain keeps going until no due raid is left
+        if (pendingDrains.incrementAndGet() > workerThreads) {
+            pendingDrains.decrementAndGet();
+            return;
+        }
+        try {
+            workers.execute(this::drain);
+        } catch (RejectedExecutionException ex) {
+            pendingDrains.decrementAndGet();
+        }
+    }
+
+    private void drain() {
+        try {
+            DueRaidsResult result = raidService.resolveDueRaids(batchSize);
+            resolvedCounter.increment(result.resolved());
+            failedRaids.increment(result.failed());
+        } catch (RuntimeException ex) {
+            failedBatches.increment();
+            log.warn("Raid resolution pass failed; will retry on next sweep", ex);
+        } finally {
+            pendingDrains.decrementAndGet();
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger seq = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
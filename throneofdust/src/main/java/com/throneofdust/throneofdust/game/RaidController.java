@@ -2,6 +2,7 @@ package com.throneofdust.throneofdust.game;
 
 import com.throneofdust.throneofdust.auth.AuthFacade;
 import com.throneofdust.throneofdust.domain.enums.RaidMapTemplate;
+import com.throneofdust.throneofdust.domain.enums.RaidStatus;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.http.ResponseEntity;
@@ -10,8 +11,10 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.Instant;
 import java.util.List;
 
 record StartRaidRequest(@NotNull RaidMapTemplate map, @NotEmpty List<Long> memberIds, boolean allyMode) {}
@@ -28,6 +31,7 @@ public class RaidController {
         this.raidService = raidService;
     }
 
+    // Query budget: 12 statements for any squad size (raid_members rows go out as one batch), plus a raids sequence fetch every 50 raids
     @PostMapping("/start")
     public ResponseEntity<?> start(@RequestBody StartRaidRequest req) {
         try {
@@ -50,10 +54,27 @@ public class RaidController {
         return ResponseEntity.ok(raid);
     }
 
+    // Query budget: 3 selects (user, page, member ids) for any page size
     @GetMapping
-    public ResponseEntity<List<Raid>> list() {
+    public ResponseEntity<RaidPage> history(@RequestParam(required = false) RaidStatus status,
+                                            @RequestParam(required = false) Instant beforeEndAt,
+                                            @RequestParam(required = false) Long beforeId,
+                                            @RequestParam(defaultValue = "20") int limit) {
         var user = authFacade.currentUser();
-        return ResponseEntity.ok(raidService.list(user));
+        return ResponseEntity.ok(raidService.history(user, status, beforeEndAt, beforeId, limit));
+    }
+
+    // Query budget: 1 select, the player's raid_stats rows by primary key
+    @GetMapping("/stats")
+    public ResponseEntity<RaidStatsView> stats() {
+        return ResponseEntity.ok(raidService.stats(authFacade.currentUserId()));
+    }
+
+    // Query budget: 2 selects (user, raids with members and traits)
+    @GetMapping("/active")
+    public ResponseEntity<List<Raid>> active() {
+        var user = authFacade.currentUser();
+        return ResponseEntity.ok(raidService.active(user));
     }
 }
 
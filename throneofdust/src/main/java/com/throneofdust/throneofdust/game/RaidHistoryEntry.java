@@ -0,0 +1,45 @@
+package com.throneofdust.throneofdust.game;
+
+import com.throneofdust.throneofdust.domain.enums.RaidMapTemplate;
+import com.throneofdust.throneofdust.domain.enums.RaidStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+
+/**
+ * Read-only row of the raids_all view, hot raids plus the archive. Only queried through
+ * {@link RaidHistoryRepository} projections into {@link RaidSummary}.
+ */
+@Entity
+@Immutable
+@Table(name = "raids_all")
+public class RaidHistoryEntry {
+
+    @Id
+    private Long id;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    private RaidMapTemplate map;
+
+    @Enumerated(EnumType.STRING)
+    private RaidStatus status;
+
+    private boolean allyMode;
+    private Instant startAt;
+    private Instant endAt;
+    private Boolean success;
+    private Integer lootGold;
+    private Integer lootScrap;
+    private Boolean betrayalOccurred;
+    private Boolean extractionSuccess;
+    private Integer casualties;
+}
@@ -0,0 +1,37 @@
+package com.throneofdust.throneofdust.game;
+
+import com.throneofdust.throneofdust.domain.enums.RaidStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/** Raid history across the hot tables and the archive. */
+public interface RaidHistoryRepository extends Repository<RaidHistoryEntry, Long> {
+
+    // Keyset pages ordered by (end_at, id) descending, served by the (user_id, end_at, id) index of each tier
+    @Query("""
+            select new com.throneofdust.throneofdust.game.RaidSummary(r.id, r.map, r.status, r.allyMode, r.startAt, r.endAt,
+                r.success, r.lootGold, r.lootScrap, r.casualties, r.betrayalOccurred, r.extractionSuccess)
+            from RaidHistoryEntry r
+            where r.userId = :userId and (:status is null or r.status = :status)
+            order by r.endAt desc, r.id desc""")
+    List<RaidSummary> findHistory(@Param("userId") Long userId, @Param("status") RaidStatus status, Limit limit);
+
+    @Query("""
+            select new com.throneofdust.throneofdust.game.RaidSummary(r.id, r.map, r.status, r.allyMode, r.startAt, r.endAt,
+                r.success, r.lootGold, r.lootScrap, r.casualties, r.betrayalOccurred, r.extractionSuccess)
+            from RaidHistoryEntry r
+            where r.userId = :userId and (:status is null or r.status = :status)
+              and (r.endAt < :endAt or (r.endAt = :endAt and r.id < :id))
+            order by r.endAt desc, r.id desc""")
+    List<RaidSummary> findHistoryBefore(@Param("userId") Long userId, @Param("status") RaidStatus status,
+                                        @Param("endAt") Instant endAt, @Param("id") Long id, Limit limit);
+
+    @Query(value = "SELECT raid_id, character_id FROM raid_members_all WHERE raid_id IN (:raidIds)", nativeQuery = true)
+    List<Object[]> findMemberIds(@Param("raidIds") Collection<Long> raidIds);
+}
@@ -0,0 +1,10 @@
+package com.throneofdust.throneofdust.game;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One page of raid history, newest first. Pass {@code nextBeforeEndAt}/{@code nextBeforeId} back
+ * as {@code beforeEndAt}/{@code beforeId} to continue; both are null on the last page.
+ */
+public record RaidPage(List<RaidSummary> items, Instant nextBeforeEndAt, Long nextBeforeId) {}
@@ -2,13 +2,40 @@ package com.throneofdust.throneofdust.game;
 
 import com.throneofdust.throneofdust.auth.UserAccount;
 import com.throneofdust.throneofdust.domain.enums.RaidStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface RaidRepository extends JpaRepository<Raid, Long> {
-    List<Raid> findByUser(UserAccount user);
+    @EntityGraph(attributePaths = {"members", "members.traits"})
     List<Raid> findByUserAndStatus(UserAccount user, RaidStatus status);
-}
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from Raid r where r.id = :id")
+    Optional<Raid> findByIdForUpdate(@Param("id") Long id);
+
+    @Query("select new com.throneofdust.throneofdust.game.RaidDeadline(r.id, r.user.id, r.endAt) from Raid r where r.status = :status")
+    List<RaidDeadline> findDeadlinesByStatus(@Param("status") RaidStatus status);
 
+    // Keyset over (endAt, id), so raids left behind by a failure do not hold up the ones after them
+    @Query("""
+            select new com.throneofdust.throneofdust.game.RaidDeadline(r.id, r.user.id, r.endAt) from Raid r
+            where r.status = :status and r.endAt <= :now
+              and (r.endAt > :afterEndAt or (r.endAt = :afterEndAt and r.id > :afterId))
+            order by r.endAt, r.id""")
+    List<RaidDeadline> findDueAfter(@Param("status") RaidStatus status, @Param("now") Instant now,
+                                    @Param("afterEndAt") Instant afterEndAt, @Param("afterId") Long afterId, Limit limit);
+
+    // Empty when the raid is already resolved or locked by another instance, which is then resolving it
+    @Query(value = "SELECT * FROM raids WHERE id = :id AND status = 'IN_PROGRESS' FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<Raid> lockInProgress(@Param("id") Long id);
+}
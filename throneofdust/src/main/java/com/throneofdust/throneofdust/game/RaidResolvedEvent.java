@@ -0,0 +1,4 @@
+package com.throneofdust.throneofdust.game;
+
+/** Published when a raid is resolved; {@code highestLevel} is the best level among its members afterwards. */
+public record RaidResolvedEvent(Long userId, boolean success, int lootGold, int highestLevel) {}
@@ -6,59 +6,100 @@ import com.throneofdust.throneofdust.domain.enums.BuildingType;
 import com.throneofdust.throneofdust.domain.enums.CharacterStatus;
 import com.throneofdust.throneofdust.domain.enums.RaidMapTemplate;
 import com.throneofdust.throneofdust.domain.enums.RaidStatus;
-import com.throneofdust.throneofdust.domain.enums.TraitType;
+import com.throneofdust.throneofdust.game.engine.RaidEngine;
+import com.throneofdust.throneofdust.game.engine.RaidOutcome;
+import com.throneofdust.throneofdust.game.engine.SquadProfile;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.security.SecureRandom;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Random;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Optional;
 
 @Service
 public class RaidService {
 
+    private static final Logger log = LoggerFactory.getLogger(RaidService.class);
+
+    static final int MAX_HISTORY_PAGE = 100;
+
     private final RaidRepository raidRepository;
     private final GameCharacterRepository characterRepository;
     private final TrainingService trainingService;
-    private final BuildingRepository buildingRepository;
+    private final BuildingLevelsCache buildingLevels;
     private final UserRepository userRepository;
-    private final Random random = new SecureRandom();
+    private final ApplicationEventPublisher eventPublisher;
+    private final Timer playerResolveLag;
+    private final Timer schedulerResolveLag;
+    private final GameRandom gameRandom;
+    private final WalletService walletService;
+    private final RaidStatsRepository raidStatsRepository;
+    private final RaidHistoryRepository raidHistoryRepository;
+    private final RosterSummaryRepository rosterSummaryRepository;
+    private final TransactionTemplate transactionTemplate;
 
-    public RaidService(RaidRepository raidRepository, GameCharacterRepository characterRepository, TrainingService trainingService, UserRepository userRepository, BuildingRepository buildingRepository) {
+    public RaidService(RaidRepository raidRepository, GameCharacterRepository characterRepository, TrainingService trainingService, UserRepository userRepository, BuildingLevelsCache buildingLevels,
+                       GameRandom gameRandom, WalletService walletService, RaidStatsRepository raidStatsRepository, RaidHistoryRepository raidHistoryRepository,
+                       RosterSummaryRepository rosterSummaryRepository, TransactionTemplate transactionTemplate,
+                       ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
         this.raidRepository = raidRepository;
+        this.raidStatsRepository = raidStatsRepository;
+        this.raidHistoryRepository = raidHistoryRepository;
+        this.rosterSummaryRepository = rosterSummaryRepository;
+        this.transactionTemplate = transactionTemplate;
         this.characterRepository = characterRepository;
         this.trainingService = trainingService;
         this.userRepository = userRepository;
-        this.buildingRepository = buildingRepository;
+        this.buildingLevels = buildingLevels;
+        this.gameRandom = gameRandom;
+        this.walletService = walletService;
+        this.eventPublisher = eventPublisher;
+        this.playerResolveLag = resolveLagTimer(meterRegistry, "player");
+        this.schedulerResolveLag = resolveLagTimer(meterRegistry, "scheduler");
+    }
+
+    private static Timer resolveLagTimer(MeterRegistry registry, String trigger) {
+        return Timer.builder("raids.resolution.lag")
+                .description("Delay between a raid's endAt and its resolution")
+                .tag("trigger", trigger)
+                .publishPercentileHistogram()
+                .register(registry);
     }
 
     @Transactional
     public Raid startRaid(UserAccount user, RaidMapTemplate map, List<Long> memberIds, boolean allyMode) {
-        if (user.getGold() < map.entryCostGold) {
-            throw new IllegalStateException("Not enough gold. Need " + map.entryCostGold + " gold.");
-        }
-
         int personalCap = trainingService.squadCap(user);
         int allowed = Math.min(personalCap, map.mapCap);
         if (memberIds.size() < 1 || memberIds.size() > allowed) {
             throw new IllegalArgumentException("Squad size must be 1.." + allowed);
         }
 
-        List<GameCharacter> members = characterRepository.findAllById(memberIds);
-        if (members.size() != memberIds.size()) {
-            throw new IllegalArgumentException("Invalid member id");
+        // The conditional claim is the validation: members are only loaded once they are ours and ON_RAID
+        long version = userRepository.incrementStateVersion(user.getId());
+        if (characterRepository.claimIdle(memberIds, user.getId(), version) != memberIds.size()) {
+            throw claimFailure(user, memberIds);
         }
-        for (GameCharacter c : members) {
-            if (!c.getUser().getId().equals(user.getId())) {
-                throw new IllegalArgumentException("Character doesn't belong to you");
-            }
-            if (c.getStatus() != CharacterStatus.IDLE) {
-                throw new IllegalStateException("Character not idle");
-            }
+        walletService.materialize(user);
+        if (!walletService.spend(user, new ResourceWallet(0, 0, 0, map.entryCostGold))) {
+            throw new IllegalStateException("Not enough gold. Need " + map.entryCostGold + " gold."); // rolls back the claim
         }
+        walletService.publishChanged(user);
+        rosterSummaryRepository.adjust(user.getId(), -memberIds.size(), memberIds.size(), 0);
+        List<GameCharacter> members = characterRepository.findWithTraitsByIdIn(memberIds);
 
         Raid raid = new Raid();
         raid.setUser(user);
@@ -68,166 +109,211 @@ public class RaidService {
         raid.setEndAt(Instant.now().plusSeconds(map.durationMinutes * 60L));
         raid.getMembers().addAll(members);
         raid.setStatus(RaidStatus.IN_PROGRESS);
+        raid.setSeed(gameRandom.newSeed());
+
+        raid = raidRepository.save(raid);
+        eventPublisher.publishEvent(new RaidStartedEvent(raid.getId(), user.getId(), raid.getEndAt()));
+        return raid;
+    }
 
-        user.setGold(user.getGold() - map.entryCostGold);
-        userRepository.save(user);
-        for (GameCharacter c : members) {
-            c.setStatus(CharacterStatus.ON_RAID);
+    // Only reached when a claim falls short; the transaction rolls back, so nothing is left claimed
+    private RuntimeException claimFailure(UserAccount user, List<Long> memberIds) {
+        List<Object[]> rows = characterRepository.findOwnersAndStatuses(memberIds);
+        if (rows.size() != memberIds.size()) {
+            return new IllegalArgumentException("Invalid member id");
         }
-        characterRepository.saveAll(members);
-        return raidRepository.save(raid);
+        for (Object[] row : rows) {
+            if (!user.getId().equals(row[1])) {
+                return new IllegalArgumentException("Character doesn't belong to you");
+            }
+        }
+        return new IllegalStateException("Character not idle");
     }
 
     @Transactional
     public Raid resolveRaid(UserAccount user, Long raidId) {
-        Raid raid = raidRepository.findById(raidId).orElseThrow();
+        // Row lock serializes with the completion scheduler so a raid is never resolved twice
+        Raid raid = raidRepository.findByIdForUpdate(raidId).orElseThrow();
         if (!raid.getUser().getId().equals(user.getId())) throw new IllegalArgumentException("Not your raid");
-        if (raid.getStatus() == RaidStatus.RESOLVED) return raid;
-        if (raid.getEndAt().isAfter(Instant.now())) throw new IllegalStateException("Raid not finished yet");
-
-        double avgLevel = raid.getMembers().stream().mapToInt(GameCharacter::getLevel).average().orElse(1.0);
-        double raidFail = raid.getMap().baseRaidFail;
-        if (raid.isAllyMode()) raidFail -= 0.15; // ally helps
-        raidFail -= 0.005 * avgLevel; // 0.5% per average level
-        double overallMinus = raid.getMembers().stream().filter(c -> c.getTraits().contains(TraitType.CAUTIOUS)).count() * 0.05;
-        double overallPlus = raid.getMembers().stream().filter(c -> c.getTraits().contains(TraitType.RECKLESS)).count() * 0.05;
-        raidFail = raidFail - overallMinus + overallPlus;
-        raidFail -= raid.getMembers().stream().filter(c -> c.getTraits().contains(TraitType.STEADY_HAND)).count() * 0.05;
-        raidFail = clamp(raidFail, 0.05, 0.95);
-        boolean success = !roll(raidFail);
-        raid.setSuccess(success);
-
-        int lootGold = 0;
-        int lootScrap = 0;
-        if (success) {
-            lootGold = rng(raid.getMap().goldMin, raid.getMap().goldMax);
-            lootScrap = rng(raid.getMap().scrapMin, raid.getMap().scrapMax);
-            long looter = raid.getMembers().stream().filter(c -> c.getTraits().contains(TraitType.LOOTER)).count();
-            long cautious = raid.getMembers().stream().filter(c -> c.getTraits().contains(TraitType.CAUTIOUS)).count();
-            long reckless = raid.getMembers().stream().filter(c -> c.getTraits().contains(TraitType.RECKLESS)).count();
-            double multiplier = 1.0 + 0.15 * looter - 0.10 * cautious + 0.10 * reckless;
-            lootGold = (int) Math.round(lootGold * multiplier);
-            lootScrap = (int) Math.round(lootScrap * multiplier);
-        }
+        if (raid.getStatus() == RaidStatus.RESOLVED) return withMembers(raid);
+        Instant now = Instant.now();
+        if (raid.getEndAt().isAfter(now)) throw new IllegalStateException("Raid not finished yet");
 
-        // Survival rolls
-        double baseDeath = switch (raid.getMap().difficulty) {
-            case EASY -> 0.05;
-            case NORMAL -> 0.10;
-            case HARD -> 0.20;
-        };
-        int deaths = 0;
-        List<GameCharacter> members = new ArrayList<>(raid.getMembers());
-        for (GameCharacter c : members) {
-            double deathChance = clamp(baseDeath - 0.01 * c.getLevel(), 0.01, 0.30);
-            boolean dies = roll(deathChance);
-            if (dies) {
-                c.setStatus(CharacterStatus.DEAD);
-                deaths++;
-            } else {
-                c.setStatus(CharacterStatus.IDLE);
-            }
-        }
-        characterRepository.saveAll(members);
-        raid.setCasualties(deaths);
-
-        // Own-squad betrayal (Untrustworthy survivors) BEFORE ally betrayal
-        if (success) {
-            List<GameCharacter> aliveAfter = members.stream().filter(c -> c.getStatus() == CharacterStatus.IDLE).collect(Collectors.toList());
-            for (GameCharacter c : aliveAfter) {
-                if (c.getTraits().contains(TraitType.UNTRUSTWORTHY) && roll(0.10)) {
-                    lootGold = lootGold - (int) Math.floor(lootGold * 0.10);
-                    lootScrap = lootScrap - (int) Math.floor(lootScrap * 0.10);
-                    c.setStatus(CharacterStatus.DEAD); // desert/remove
-                    characterRepository.save(c);
-                    raid.setCasualties(raid.getCasualties() + 1);
-                }
-            }
-        }
+        playerResolveLag.record(Duration.between(raid.getEndAt(), now));
+        return resolve(raid);
+    }
 
-        // Ally betrayal (if Ally ON) AFTER own-squad betrayal
-        boolean betrayal = false;
-        if (raid.isAllyMode() && success) {
-            int radarLevel = buildingRepository.findByUserAndType(user, BuildingType.RADAR).map(Building::getLevel).orElse(0);
-            double betrayChance = clamp(0.20 - 0.02 * radarLevel, 0.02, 0.20);
-            if (roll(betrayChance)) {
-                betrayal = true;
-                lootGold = (int) Math.round(lootGold * 0.6);
-                lootScrap = (int) Math.round(lootScrap * 0.6);
-                List<GameCharacter> alive = members.stream().filter(c -> c.getStatus() == CharacterStatus.IDLE).collect(Collectors.toList());
-                if (!alive.isEmpty() && roll(0.5)) {
-                    GameCharacter victim = alive.get(random.nextInt(alive.size()));
-                    victim.setStatus(CharacterStatus.DEAD);
-                    characterRepository.save(victim);
-                    raid.setCasualties(raid.getCasualties() + 1);
+    /**
+     * Resolves every raid of any player that has finished by now, oldest first, reading due ids
+     * {@code batchSize} at a time. Each raid is locked and resolved in its own transaction, so
+     * call this outside one: raids locked elsewhere are skipped, and a raid that fails is logged,
+     * counted and left for the next sweep without undoing the others.
+     */
+    public DueRaidsResult resolveDueRaids(int batchSize) {
+        Instant now = Instant.now();
+        Instant afterEndAt = Instant.EPOCH;
+        Long afterId = 0L;
+        int resolved = 0;
+        int failed = 0;
+        List<RaidDeadline> due;
+        do {
+            due = raidRepository.findDueAfter(RaidStatus.IN_PROGRESS, now, afterEndAt, afterId, Limit.of(batchSize));
+            for (RaidDeadline deadline : due) {
+                try {
+                    if (Boolean.TRUE.equals(transactionTemplate.execute(status -> resolveDue(deadline.id(), now)))) {
+                        resolved++;
+                    }
+                } catch (RuntimeException ex) {
+                    failed++;
+                    log.warn("Resolving raid {} failed; leaving it for the next sweep", deadline.id(), ex);
                 }
-            } else {
-                lootGold = (int) Math.round(lootGold * 1.05);
-                lootScrap = (int) Math.round(lootScrap * 1.05);
+                afterEndAt = deadline.endAt();
+                afterId = deadline.id();
             }
+        } while (due.size() == batchSize);
+        return new DueRaidsResult(resolved, failed);
+    }
+
+    private boolean resolveDue(Long raidId, Instant now) {
+        Optional<Raid> raid = raidRepository.lockInProgress(raidId);
+        if (raid.isEmpty()) {
+            return false;
         }
-        raid.setBetrayalOccurred(betrayal);
-
-        // Extraction
-        boolean extractionSuccess = success;
-        if (success) {
-            double extractFail = raid.getMap().baseExtractFail;
-            extractFail -= 0.005 * avgLevel;
-            extractFail -= raid.getMembers().stream().filter(c -> c.getTraits().contains(TraitType.SCOUTS_EYE)).count() * 0.05;
-            extractFail = extractFail - overallMinus + overallPlus;
-            extractFail = clamp(extractFail, 0.05, 0.95);
-            boolean fail = roll(extractFail);
-            if (fail) {
-                boolean medicPresent = members.stream().filter(c -> c.getStatus() != CharacterStatus.DEAD).anyMatch(c -> c.getTraits().contains(TraitType.MEDIC));
-                if (medicPresent) {
-                    lootGold = (int) Math.round(lootGold * 0.5);
-                    lootScrap = (int) Math.round(lootScrap * 0.5);
-                } else {
-                    lootGold = 0;
-                    lootScrap = 0;
-                    extractionSuccess = false;
-                }
-            }
+        schedulerResolveLag.record(Duration.between(raid.get().getEndAt(), now));
+        resolve(raid.get());
+        return true;
+    }
+
+    private Raid resolve(Raid raid) {
+        UserAccount user = raid.getUser();
+        if (raid.getSeed() == null) {
+            raid.setSeed(gameRandom.newSeed()); // raids started before seeds were recorded
         }
-        raid.setExtractionSuccess(extractionSuccess);
-
-        // XP awards
-        for (GameCharacter c : members) {
-            if (c.getStatus() != CharacterStatus.DEAD) {
-                c.setXp(c.getXp() + (success ? 10 : 5));
-                while (c.getXp() >= c.getLevel() * 50) {
-                    c.setXp(c.getXp() - c.getLevel() * 50);
-                    c.setLevel(c.getLevel() + 1);
-                }
-            }
+        List<GameCharacter> members = inSlotOrder(raid.getMembers());
+        raid.recordSquad(radarLevel(raid), members);
+        RaidOutcome outcome = replay(raid);
+        long version = userRepository.incrementStateVersion(user.getId());
+
+        int highestLevel = 0;
+        int survivors = 0;
+        for (int i = 0; i < members.size(); i++) {
+            GameCharacter c = members.get(i);
+            if (outcome.isAlive(i)) survivors++;
+            c.setStatus(outcome.isAlive(i) ? CharacterStatus.IDLE : CharacterStatus.DEAD);
+            c.setLevel(outcome.level(i));
+            c.setXp(outcome.xp(i));
+            c.setStateVersion(version);
+            highestLevel = Math.max(highestLevel, c.getLevel());
         }
         characterRepository.saveAll(members);
+        rosterSummaryRepository.adjust(user.getId(), survivors, -members.size(), members.size() - survivors);
 
         // Bank loot
-        user.setGold(user.getGold() + Math.max(0, lootGold));
-        user.setScrap(user.getScrap() + Math.max(0, lootScrap));
-        userRepository.save(user);
-        raid.setLootGold(lootGold);
-        raid.setLootScrap(lootScrap);
+        walletService.materialize(user);
+        walletService.credit(user, Math.max(0, outcome.lootGold()), Math.max(0, outcome.lootScrap()));
+        walletService.publishChanged(user);
+        raid.setSuccess(outcome.success());
+        raid.setCasualties(outcome.casualties());
+        raid.setBetrayalOccurred(outcome.betrayal());
+        raid.setExtractionSuccess(outcome.extractionSuccess());
+        raid.setLootGold(outcome.lootGold());
+        raid.setLootScrap(outcome.lootScrap());
         raid.setStatus(RaidStatus.RESOLVED);
-        return raidRepository.save(raid);
+        raid.setStatsRecorded(true);
+        raid = raidRepository.save(raid);
+        raidStatsRepository.record(user.getId(), raid.getMap().name(), outcome.success() ? 1 : 0, outcome.extractionSuccess() ? 1 : 0,
+                outcome.betrayal() ? 1 : 0, outcome.casualties(), Math.max(0, outcome.lootGold()), Math.max(0, outcome.lootScrap()));
+        eventPublisher.publishEvent(GameEvent.raidResolved(raid));
+        eventPublisher.publishEvent(new RaidResolvedEvent(user.getId(), outcome.success(), Math.max(0, outcome.lootGold()), highestLevel));
+        return raid;
+    }
+
+    // Raids are serialized with members and traits after the transaction; batch fetching keeps this at two selects
+    private static Raid withMembers(Raid raid) {
+        for (GameCharacter c : raid.getMembers()) {
+            Hibernate.initialize(c.getTraits());
+        }
+        return raid;
+    }
+
+    /**
+     * Recomputes a resolved raid's outcome from its stored seed and the squad recorded at
+     * resolution, so the result is identical however the characters have changed since.
+     * Outcome slot i is the i-th member by ascending id.
+     */
+    public RaidOutcome replay(Raid raid) {
+        if (raid.getSeed() == null || !raid.hasSquadSnapshot()) {
+            throw new IllegalStateException("Raid " + raid.getId() + " has no recorded squad to replay");
+        }
+        int[] levels = raid.getMemberLevels();
+        int[] xp = raid.getMemberXp();
+        int[] traits = raid.getMemberTraits();
+        SquadProfile squad = new SquadProfile(levels.length);
+        for (int i = 0; i < levels.length; i++) {
+            squad.add(levels[i], xp[i], traits[i]);
+        }
+        RaidOutcome outcome = new RaidOutcome(levels.length);
+        RaidEngine.resolve(raid.getMap(), raid.isAllyMode(), raid.getRadarLevel(), squad, gameRandom.forSeed(raid.getSeed()), outcome);
+        return outcome;
     }
 
-    public List<Raid> list(UserAccount user) {
-        return raidRepository.findByUser(user);
+    /**
+     * Runs a raid's seed against the given characters as they are now, e.g. to preview a
+     * squad change. Outcome slot i is the i-th of {@code members} by ascending id; use
+     * {@link #replay(Raid)} to reproduce an actual resolution.
+     */
+    public RaidOutcome simulate(Raid raid, List<GameCharacter> members) {
+        List<GameCharacter> squadOrder = inSlotOrder(members);
+        SquadProfile squad = new SquadProfile(squadOrder.size());
+        for (GameCharacter c : squadOrder) {
+            squad.add(c.getLevel(), c.getXp(), SquadProfile.traitMask(c.getTraits()));
+        }
+        RaidOutcome outcome = new RaidOutcome(squadOrder.size());
+        RaidEngine.resolve(raid.getMap(), raid.isAllyMode(), radarLevel(raid), squad, gameRandom.forSeed(raid.getSeed()), outcome);
+        return outcome;
     }
 
-    private int rng(int min, int max) {
-        return random.nextInt(max - min + 1) + min;
+    // Set iteration order is arbitrary, so the engine's member slots follow character ids
+    private static List<GameCharacter> inSlotOrder(Collection<GameCharacter> members) {
+        List<GameCharacter> ordered = new ArrayList<>(members);
+        ordered.sort(Comparator.comparing(GameCharacter::getId));
+        return ordered;
     }
 
-    private boolean roll(double probability) {
-        return random.nextDouble() < probability;
+    private int radarLevel(Raid raid) {
+        return raid.isAllyMode() ? buildingLevels.get(raid.getUser().getId()).level(BuildingType.RADAR) : 0;
     }
 
-    private static double clamp(double v, double min, double max) {
-        return Math.max(min, Math.min(max, v));
+    public RaidStatsView stats(Long userId) {
+        return RaidStatsView.of(raidStatsRepository.findByUserIdOrderByMap(userId));
     }
-}
 
+    public List<Raid> active(UserAccount user) {
+        return raidRepository.findByUserAndStatus(user, RaidStatus.IN_PROGRESS);
+    }
 
+    /**
+     * Raid history newest first, continuing after ({@code beforeEndAt}, {@code beforeId}) when both are given.
+     * {@code status} is optional. Archived raids are included and read as RESOLVED.
+     */
+    public RaidPage history(UserAccount user, RaidStatus status, Instant beforeEndAt, Long beforeId, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_HISTORY_PAGE));
+        List<RaidSummary> rows = beforeEndAt != null && beforeId != null
+                ? raidHistoryRepository.findHistoryBefore(user.getId(), status, beforeEndAt, beforeId, Limit.of(size + 1))
+                : raidHistoryRepository.findHistory(user.getId(), status, Limit.of(size + 1));
+        boolean more = rows.size() > size;
+        if (more) rows = rows.subList(0, size);
+        if (rows.isEmpty()) return new RaidPage(List.of(), null, null);
+
+        Map<Long, List<Long>> memberIds = new HashMap<>();
+        for (Object[] row : raidHistoryRepository.findMemberIds(rows.stream().map(RaidSummary::id).toList())) {
+            memberIds.computeIfAbsent(((Number) row[0]).longValue(), id -> new ArrayList<>()).add(((Number) row[1]).longValue());
+        }
+        List<RaidSummary> items = new ArrayList<>(rows.size());
+        for (RaidSummary row : rows) {
+            items.add(row.withMemberIds(memberIds.getOrDefault(row.id(), List.of())));
+        }
+        RaidSummary last = items.get(items.size() - 1);
+        return more ? new RaidPage(items, last.endAt(), last.id()) : new RaidPage(items, null, null);
+    }
+}
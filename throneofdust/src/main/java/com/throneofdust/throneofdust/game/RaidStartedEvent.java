@@ -0,0 +1,5 @@
+package com.throneofdust.throneofdust.game;
+
+import java.time.Instant;
+
+public record RaidStartedEvent(Long raidId, Long userId, Instant endAt) {}
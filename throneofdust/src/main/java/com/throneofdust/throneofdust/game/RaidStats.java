@@ -0,0 +1,103 @@
+package com.throneofdust.throneofdust.game;
+
+import com.throneofdust.throneofdust.domain.enums.RaidMapTemplate;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A player's raid record on one map. Rows are only ever written by the upserts in
+ * {@link RaidStatsRepository}, never through the persistence context.
+ */
+@Entity
+@Immutable
+@Table(name = "raid_stats")
+@IdClass(RaidStats.Key.class)
+public class RaidStats {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 40)
+    private RaidMapTemplate map;
+
+    private int raids;
+    private int successes;
+    private int extractions;
+    private int betrayals;
+    private long casualties;
+    private long lootGold;
+    private long lootScrap;
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public RaidMapTemplate getMap() {
+        return map;
+    }
+
+    public int getRaids() {
+        return raids;
+    }
+
+    public int getSuccesses() {
+        return successes;
+    }
+
+    public int getExtractions() {
+        return extractions;
+    }
+
+    public int getBetrayals() {
+        return betrayals;
+    }
+
+    public long getCasualties() {
+        return casualties;
+    }
+
+    public long getLootGold() {
+        return lootGold;
+    }
+
+    public long getLootScrap() {
+        return lootScrap;
+    }
+
+    public static class Key implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private Long userId;
+        private RaidMapTemplate map;
+
+        public Key() {
+        }
+
+        public Key(Long userId, RaidMapTemplate map) {
+            this.userId = userId;
+            this.map = map;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key other && Objects.equals(userId, other.userId) && map == other.map;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, map);
+        }
+    }
+}
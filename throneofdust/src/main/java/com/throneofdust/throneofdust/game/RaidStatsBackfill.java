@@ -0,0 +1,81 @@
+package com.throneofdust.throneofdust.game;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Adds raids resolved before raid_stats existed, in chunks of {@code chunk-size} raids with one
+ * short transaction each, so it never holds many row locks or competes long with live traffic.
+ * Progress lives in raids.stats_recorded: an interrupted run resumes where it stopped, several
+ * instances can run it at once, and once drained each startup costs one empty index probe.
+ */
+@Component
+public class RaidStatsBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(RaidStatsBackfill.class);
+
+    private final RaidStatsRepository raidStatsRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int chunkSize;
+    private final long pauseMs;
+
+    private Thread worker;
+
+    public RaidStatsBackfill(
+            RaidStatsRepository raidStatsRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${app.raids.stats-backfill.enabled:true}") boolean enabled,
+            @Value("${app.raids.stats-backfill.chunk-size:500}") int chunkSize,
+            @Value("${app.raids.stats-backfill.pause-ms:50}") long pauseMs
+    ) {
+        this.raidStatsRepository = raidStatsRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.chunkSize = chunkSize;
+        this.pauseMs = pauseMs;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        worker = new Thread(this::run, "raid-stats-backfill");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (worker != null) worker.interrupt();
+    }
+
+    private void run() {
+        long chunks = 0;
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Integer touched = transactionTemplate.execute(status -> raidStatsRepository.backfillChunk(chunkSize));
+                if (touched == null || touched == 0) {
+                    break;
+                }
+                chunks++;
+                Thread.sleep(pauseMs);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException ex) {
+            log.warn("Raid stats backfill stopped after {} chunks; the next startup resumes it", chunks, ex);
+            return;
+        }
+        if (chunks > 0) {
+            log.info("Raid stats backfill added {} chunks of up to {} raids", chunks, chunkSize);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.throneofdust.throneofdust.game;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface RaidStatsRepository extends Repository<RaidStats, RaidStats.Key> {
+
+    String ADD_TO_EXISTING = """
+
+            ON CONFLICT (user_id, map) DO UPDATE SET
+                raids = s.raids + EXCLUDED.raids,
+                successes = s.successes + EXCLUDED.successes,
+                extractions = s.extractions + EXCLUDED.extractions,
+                betrayals = s.betrayals + EXCLUDED.betrayals,
+                casualties = s.casualties + EXCLUDED.casualties,
+                loot_gold = s.loot_gold + EXCLUDED.loot_gold,
+                loot_scrap = s.loot_scrap + EXCLUDED.loot_scrap""";
+
+    // One primary-key range scan on (user_id, map)
+    List<RaidStats> findByUserIdOrderByMap(Long userId);
+
+    /**
+     * Leaderboard rebuild: user id, username, resolved raids, successful raids, gold looted. Raids not
+     * yet backfilled are added from raids; one statement, so a concurrent backfill chunk is seen
+     * either before or after it moved, never twice. Archived raids are always recorded.
+     */
+    @Query(value = """
+            SELECT u.id, u.username, SUM(t.raids), SUM(t.successes), SUM(t.loot_gold)
+            FROM (
+                SELECT user_id, raids, successes, loot_gold FROM raid_stats
+                UNION ALL
+                SELECT user_id, 1, CASE WHEN success THEN 1 ELSE 0 END, GREATEST(COALESCE(loot_gold, 0), 0)
+                FROM raids WHERE status = 'RESOLVED' AND NOT stats_recorded
+            ) t
+            JOIN users u ON u.id = t.user_id
+            GROUP BY u.id, u.username""", nativeQuery = true)
+    List<Object[]> findTotalsByUser();
+
+    // Adds one resolved raid; must run in the resolving transaction, which also sets raids.stats_recorded
+    @Modifying
+    @Query(value = """
+            INSERT INTO raid_stats AS s (user_id, map, raids, successes, extractions, betrayals, casualties, loot_gold, loot_scrap)
+            VALUES (:userId, :map, 1, :success, :extraction, :betrayal, :casualties, :lootGold, :lootScrap)""" + ADD_TO_EXISTING,
+            nativeQuery = true)
+    int record(@Param("userId") Long userId, @Param("map") String map, @Param("success") int success,
+               @Param("extraction") int extraction, @Param("betrayal") int betrayal, @Param("casualties") int casualties,
+               @Param("lootGold") int lootGold, @Param("lootScrap") int lootScrap);
+
+    /**
+     * Adds up to {@code limit} resolved raids that predate live recording and marks them recorded,
+     * in one statement. Rows locked by a resolution or another backfill are skipped.
+     *
+     * @return the number of (user, map) rows touched, 0 once nothing is left
+     */
+    @Modifying
+    @Query(value = """
+            WITH chunk AS (
+                SELECT id FROM raids
+                WHERE status = 'RESOLVED' AND NOT stats_recorded
+                ORDER BY id
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED
+            ), marked AS (
+                UPDATE raids r SET stats_recorded = TRUE
+                FROM chunk
+                WHERE r.id = chunk.id
+                RETURNING r.user_id, r.map, r.success, r.extraction_success, r.betrayal_occurred, r.casualties, r.loot_gold, r.loot_scrap
+            )
+            INSERT INTO raid_stats AS s (user_id, map, raids, successes, extractions, betrayals, casualties, loot_gold, loot_scrap)
+            SELECT user_id, map, COUNT(*),
+                COUNT(*) FILTER (WHERE success),
+                COUNT(*) FILTER (WHERE extraction_success),
+                COUNT(*) FILTER (WHERE betrayal_occurred),
+                COALESCE(SUM(casualties), 0),
+                COALESCE(SUM(GREATEST(loot_gold, 0)), 0),
+                COALESCE(SUM(GREATEST(loot_scrap, 0)), 0)
+            FROM marked
+            GROUP BY user_id, map""" + ADD_TO_EXISTING,
+            nativeQuery = true)
+    int backfillChunk(@Param("limit") int limit);
+}
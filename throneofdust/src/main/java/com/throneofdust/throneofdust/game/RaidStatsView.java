@@ -0,0 +1,41 @@
+package com.throneofdust.throneofdust.game;
+
+import com.throneofdust.throneofdust.domain.enums.RaidMapTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A player's raid record per map plus the overall line (whose {@code map} is null). Rates are
+ * fractions of resolved raids, 0 when there are none.
+ */
+public record RaidStatsView(List<Line> maps, Line overall) {
+
+    public record Line(RaidMapTemplate map, int raids, int successes, int extractions, int betrayals, long casualties,
+                       long lootGold, long lootScrap, double successRate, double extractionRate) {
+
+        static Line of(RaidMapTemplate map, int raids, int successes, int extractions, int betrayals, long casualties,
+                       long lootGold, long lootScrap) {
+            return new Line(map, raids, successes, extractions, betrayals, casualties, lootGold, lootScrap,
+                    raids == 0 ? 0 : (double) successes / raids, raids == 0 ? 0 : (double) extractions / raids);
+        }
+    }
+
+    static RaidStatsView of(List<RaidStats> rows) {
+        int raids = 0, successes = 0, extractions = 0, betrayals = 0;
+        long casualties = 0, lootGold = 0, lootScrap = 0;
+        List<Line> maps = new ArrayList<>(rows.size());
+        for (RaidStats row : rows) {
+            maps.add(Line.of(row.getMap(), row.getRaids(), row.getSuccesses(), row.getExtractions(), row.getBetrayals(),
+                    row.getCasualties(), row.getLootGold(), row.getLootScrap()));
+            raids += row.getRaids();
+            successes += row.getSuccesses();
+            extractions += row.getExtractions();
+            betrayals += row.getBetrayals();
+            casualties += row.getCasualties();
+            lootGold += row.getLootGold();
+            lootScrap += row.getLootScrap();
+        }
+        return new RaidStatsView(maps, Line.of(null, raids, successes, extractions, betrayals, casualties, lootGold, lootScrap));
+    }
+}
@@ -0,0 +1,28 @@
+package com.throneofdust.throneofdust.game;
+
+import com.throneofdust.throneofdust.domain.enums.RaidMapTemplate;
+import com.throneofdust.throneofdust.domain.enums.RaidStatus;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Flat raid row for history listings. Unlike {@link Raid} it carries member ids rather than
+ * member entities, so a page costs two small queries regardless of squad size.
+ */
+public record RaidSummary(Long id, RaidMapTemplate map, RaidStatus status, boolean allyMode, Instant startAt, Instant endAt,
+                          Boolean success, Integer lootGold, Integer lootScrap, Integer casualties, Boolean betrayalOccurred,
+                          Boolean extractionSuccess, List<Long> memberIds) {
+
+    // JPQL constructor expression; member ids are filled in by a second query
+    public RaidSummary(Long id, RaidMapTemplate map, RaidStatus status, boolean allyMode, Instant startAt, Instant endAt,
+                       Boolean success, Integer lootGold, Integer lootScrap, Integer casualties, Boolean betrayalOccurred,
+                       Boolean extractionSuccess) {
+        this(id, map, status, allyMode, startAt, endAt, success, lootGold, lootScrap, casualties, betrayalOccurred, extractionSuccess, List.of());
+    }
+
+    RaidSummary withMemberIds(List<Long> memberIds) {
+        return new RaidSummary(id, map, status, allyMode, startAt, endAt, success, lootGold, lootScrap, casualties, betrayalOccurred,
+                extractionSuccess, memberIds);
+    }
+}
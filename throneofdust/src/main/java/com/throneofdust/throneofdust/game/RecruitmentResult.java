@@ -5,4 +5,5 @@ public sealed interface RecruitmentResult {
     record InsufficientResources(String message) implements RecruitmentResult {}
     record RosterLimitReached(String message) implements RecruitmentResult {}
     record OnCooldown(String message, long remainingSeconds) implements RecruitmentResult {}
+    record Conflict(String message) implements RecruitmentResult {}
 }
@@ -0,0 +1,60 @@
+package com.throneofdust.throneofdust.game;
+
+import com.throneofdust.throneofdust.auth.UserAccount;
+import com.throneofdust.throneofdust.domain.enums.BuildingType;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * A player's resources at a point in time. Production accrues continuously from the stored
+ * balances since {@code lastCollectedAt}, so current amounts are computed in closed form on read.
+ */
+public record ResourceWallet(int wood, int stone, int scrap, int gold) {
+
+    public static final ResourceWallet EMPTY = new ResourceWallet(0, 0, 0, 0);
+
+    static final double WOOD_PER_LEVEL_HOUR = 30.0;
+    static final double STONE_PER_LEVEL_HOUR = 25.0;
+    static final double SCRAP_PER_LEVEL_HOUR = 20.0;
+    static final double GOLD_PER_LEVEL_HOUR = 25.0; // Increased from 15.0 to 25.0 for better balance
+
+    public static ResourceWallet accrue(UserAccount user, BuildingLevels levels, Instant now) {
+        return accrue(new ResourceWallet(user.getWood(), user.getStone(), user.getScrap(), user.getGold()), user.getLastCollectedAt(), levels, now);
+    }
+
+    public static ResourceWallet accrue(ResourceWallet stored, Instant since, BuildingLevels levels, Instant now) {
+        ResourceWallet produced = produced(levels, since, now);
+        int capacity = BuildingService.storageCapacity(levels);
+        return new ResourceWallet(
+                capped(stored.wood(), produced.wood(), capacity),
+                capped(stored.stone(), produced.stone(), capacity),
+                capped(stored.scrap(), produced.scrap(), capacity),
+                stored.gold() + produced.gold() // Gold has no storage limit
+        );
+    }
+
+    /** Uncapped production between {@code since} and {@code now}. */
+    public static ResourceWallet produced(BuildingLevels levels, Instant since, Instant now) {
+        long seconds = Math.max(0, Duration.between(since, now).getSeconds());
+        double hours = seconds / 3600.0;
+        return new ResourceWallet(
+                produced(WOOD_PER_LEVEL_HOUR, levels.level(BuildingType.LUMBER_MILL), hours),
+                produced(STONE_PER_LEVEL_HOUR, levels.level(BuildingType.QUARRY), hours),
+                produced(SCRAP_PER_LEVEL_HOUR, levels.level(BuildingType.MINE), hours),
+                produced(GOLD_PER_LEVEL_HOUR, levels.level(BuildingType.TREASURY), hours));
+    }
+
+    public ResourceWallet minus(ResourceWallet other) {
+        return new ResourceWallet(wood - other.wood, stone - other.stone, scrap - other.scrap, gold - other.gold);
+    }
+
+    private static int produced(double perLevelHour, int level, double hours) {
+        return (int) Math.floor(perLevelHour * level * hours);
+    }
+
+    // Production stops at the storehouse cap but never takes away what loot pushed above it
+    private static int capped(int stored, int produced, int capacity) {
+        return stored >= capacity ? stored : Math.min(capacity, stored + produced);
+    }
+}
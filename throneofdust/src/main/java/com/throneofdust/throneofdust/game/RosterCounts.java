@@ -0,0 +1,11 @@
+package com.throneofdust.throneofdust.game;
+
+/** A player's characters by status; dead includes archived characters. */
+public record RosterCounts(int idle, int onRaid, int dead) {
+
+    static final RosterCounts EMPTY = new RosterCounts(0, 0, 0);
+
+    public int alive() {
+        return idle + onRaid;
+    }
+}
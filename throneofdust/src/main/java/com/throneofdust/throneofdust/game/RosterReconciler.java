@@ -0,0 +1,130 @@
+package com.throneofdust.throneofdust.game;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically compares every roster_summary row with the characters it counts and reports the
+ * ones that drifted, correcting them when {@code repair} is on. Rows are checked in chunks of
+ * {@code chunk-size}, each locked for one short transaction: an adjust from a request waits for
+ * the chunk, and since a request changes its characters before adjusting, the counts compared
+ * are never caught halfway through a change.
+ */
+@Component
+public class RosterReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(RosterReconciler.class);
+
+    private final RosterSummaryRepository rosterSummaryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final boolean repair;
+    private final int chunkSize;
+    private final long pauseMs;
+    private final long intervalMs;
+    private final long initialDelayMs;
+    private final Counter drifted;
+
+    private ScheduledExecutorService executor;
+
+    public RosterReconciler(
+            RosterSummaryRepository rosterSummaryRepository,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${app.roster.reconcile.enabled:true}") boolean enabled,
+            @Value("${app.roster.reconcile.repair:true}") boolean repair,
+            @Value("${app.roster.reconcile.chunk-size:500}") int chunkSize,
+            @Value("${app.roster.reconcile.pause-ms:50}") long pauseMs,
+            @Value("${app.roster.reconcile.interval-ms:21600000}") long intervalMs,
+            @Value("${app.roster.reconcile.initial-delay-ms:300000}") long initialDelayMs
+    ) {
+        this.rosterSummaryRepository = rosterSummaryRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.repair = repair;
+        this.chunkSize = chunkSize;
+        this.pauseMs = pauseMs;
+        this.intervalMs = intervalMs;
+        this.initialDelayMs = initialDelayMs;
+        this.drifted = Counter.builder("roster.summary.drift").register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "roster-reconciler");
+            t.setDaemon(true);
+            return t;
+        });
+        executor.scheduleWithFixedDelay(this::run, initialDelayMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) executor.shutdownNow();
+    }
+
+    /** One full pass over roster_summary; returns the number of drifted rows found. */
+    public int run() {
+        long after = 0;
+        int found = 0;
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                long from = after;
+                Chunk chunk = transactionTemplate.execute(status -> reconcile(from));
+                if (chunk == null || chunk.lastUserId() == null) {
+                    break;
+                }
+                after = chunk.lastUserId();
+                found += chunk.drifted();
+                Thread.sleep(pauseMs);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException ex) {
+            log.warn("Roster reconciliation stopped after user {}; the next run starts over", after, ex);
+        }
+        if (found > 0) {
+            log.warn("Roster reconciliation found {} drifted players{}", found, repair ? " and corrected them" : "");
+        }
+        return found;
+    }
+
+    private record Chunk(Long lastUserId, int drifted) {
+    }
+
+    private Chunk reconcile(long afterUserId) {
+        List<Long> userIds = rosterSummaryRepository.lockChunk(afterUserId, chunkSize);
+        if (userIds.isEmpty()) {
+            return new Chunk(null, 0);
+        }
+        List<Object[]> rows = rosterSummaryRepository.findDrift(userIds);
+        for (Object[] row : rows) {
+            Long userId = ((Number) row[0]).longValue();
+            log.warn("Roster summary drift for user {}: stored idle={} on_raid={} dead={}, actual idle={} on_raid={} dead={}",
+                    userId, row[1], row[2], row[3], row[4], row[5], row[6]);
+            if (repair) {
+                rosterSummaryRepository.overwrite(userId, ((Number) row[4]).intValue(), ((Number) row[5]).intValue(),
+                        ((Number) row[6]).intValue());
+            }
+        }
+        drifted.increment(rows.size());
+        return new Chunk(userIds.get(userIds.size() - 1), rows.size());
+    }
+}
@@ -0,0 +1,41 @@
+package com.throneofdust.throneofdust.game;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * A player's character counts by status. Rows are only ever written by the statements in
+ * {@link RosterSummaryRepository}, never through the persistence context.
+ */
+@Entity
+@Immutable
+@Table(name = "roster_summary")
+public class RosterSummary {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    private int idle;
+    private int onRaid;
+    private int dead;
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public int getIdle() {
+        return idle;
+    }
+
+    public int getOnRaid() {
+        return onRaid;
+    }
+
+    public int getDead() {
+        return dead;
+    }
+}
@@ -0,0 +1,56 @@
+package com.throneofdust.throneofdust.game;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface RosterSummaryRepository extends Repository<RosterSummary, Long> {
+
+    // A projection rather than the entity, so a read after adjust in the same transaction is never served stale
+    @Query("select new com.throneofdust.throneofdust.game.RosterCounts(s.idle, s.onRaid, s.dead) from RosterSummary s where s.userId = :userId")
+    Optional<RosterCounts> findCounts(@Param("userId") Long userId);
+
+    // Adds the deltas; must run in the transaction that changes the characters
+    @Modifying
+    @Query(value = """
+            INSERT INTO roster_summary AS s (user_id, idle, on_raid, dead)
+            VALUES (:userId, :idle, :onRaid, :dead)
+            ON CONFLICT (user_id) DO UPDATE SET
+                idle = s.idle + EXCLUDED.idle,
+                on_raid = s.on_raid + EXCLUDED.on_raid,
+                dead = s.dead + EXCLUDED.dead""", nativeQuery = true)
+    int adjust(@Param("userId") Long userId, @Param("idle") int idle, @Param("onRaid") int onRaid, @Param("dead") int dead);
+
+    // Reconciliation: the next rows after afterUserId, locked so no adjust lands while they are compared
+    @Query(value = "SELECT user_id FROM roster_summary WHERE user_id > :after ORDER BY user_id LIMIT :limit FOR UPDATE",
+            nativeQuery = true)
+    List<Long> lockChunk(@Param("after") long afterUserId, @Param("limit") int limit);
+
+    /**
+     * Rows among {@code userIds} whose counts differ from the characters, as user id, stored idle,
+     * on_raid and dead, then actual idle, on_raid and dead. Archived characters count as dead.
+     */
+    @Query(value = """
+            SELECT s.user_id, s.idle, s.on_raid, s.dead, a.idle, a.on_raid, a.dead
+            FROM roster_summary s
+            CROSS JOIN LATERAL (
+                SELECT COUNT(*) FILTER (WHERE c.status = 'IDLE') AS idle,
+                       COUNT(*) FILTER (WHERE c.status = 'ON_RAID') AS on_raid,
+                       COUNT(*) FILTER (WHERE c.status = 'DEAD')
+                           + (SELECT COUNT(*) FROM characters_archive x WHERE x.user_id = s.user_id) AS dead
+                FROM characters c
+                WHERE c.user_id = s.user_id
+            ) a
+            WHERE s.user_id IN (:userIds)
+              AND (s.idle, s.on_raid, s.dead) IS DISTINCT FROM (a.idle, a.on_raid, a.dead)""", nativeQuery = true)
+    List<Object[]> findDrift(@Param("userIds") Collection<Long> userIds);
+
+    @Modifying
+    @Query(value = "UPDATE roster_summary SET idle = :idle, on_raid = :onRaid, dead = :dead WHERE user_id = :userId", nativeQuery = true)
+    int overwrite(@Param("userId") Long userId, @Param("idle") int idle, @Param("onRaid") int onRaid, @Param("dead") int dead);
+}
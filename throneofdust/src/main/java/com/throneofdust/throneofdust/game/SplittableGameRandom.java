@@ -0,0 +1,34 @@
+package com.throneofdust.throneofdust.game;
+
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+@Component
+public class SplittableGameRandom implements GameRandom {
+
+    // SecureRandom is only touched once for the root seed; threads split independent streams from it
+    private final SplittableRandom root = new SplittableRandom(new SecureRandom().nextLong());
+    private final ThreadLocal<SplittableRandom> perThread = ThreadLocal.withInitial(this::split);
+
+    @Override
+    public RandomGenerator current() {
+        return perThread.get();
+    }
+
+    @Override
+    public long newSeed() {
+        return perThread.get().nextLong();
+    }
+
+    @Override
+    public RandomGenerator forSeed(long seed) {
+        return new SplittableRandom(seed);
+    }
+
+    private synchronized SplittableRandom split() {
+        return root.split();
+    }
+}
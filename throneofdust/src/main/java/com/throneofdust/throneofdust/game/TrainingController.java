@@ -3,6 +3,7 @@ package com.throneofdust.throneofdust.game;
 import com.throneofdust.throneofdust.auth.AuthFacade;
 import com.throneofdust.throneofdust.domain.enums.CharacterClass;
 import com.throneofdust.throneofdust.domain.enums.TraitType;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -38,6 +39,8 @@ public class TrainingController {
             return ResponseEntity.badRequest().body(ErrorResponse.of(limit.message()));
         } else if (result instanceof RecruitmentResult.OnCooldown cooldown) {
             return ResponseEntity.badRequest().body(ErrorResponse.of(cooldown.message()));
+        } else if (result instanceof RecruitmentResult.Conflict conflict) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(ErrorResponse.of(conflict.message()));
         }
         
         return ResponseEntity.internalServerError().body(ErrorResponse.of("An unexpected error occurred"));
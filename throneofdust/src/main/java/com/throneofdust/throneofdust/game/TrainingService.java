@@ -1,28 +1,42 @@
 package com.throneofdust.throneofdust.game;
 
 import com.throneofdust.throneofdust.auth.UserAccount;
+import com.throneofdust.throneofdust.auth.UserRepository;
 import com.throneofdust.throneofdust.domain.enums.BuildingType;
 import com.throneofdust.throneofdust.domain.enums.CharacterClass;
 import com.throneofdust.throneofdust.domain.enums.CharacterStatus;
 import com.throneofdust.throneofdust.domain.enums.TraitType;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 
-import java.security.SecureRandom;
 import java.time.Duration;
 import java.time.Instant;
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 @Service
 public class TrainingService {
 
     private final BuildingRepository buildingRepository;
     private final GameCharacterRepository characterRepository;
-    private final Random random = new SecureRandom();
-
-    public TrainingService(BuildingRepository buildingRepository, GameCharacterRepository characterRepository) {
+    private final RosterSummaryRepository rosterSummaryRepository;
+    private final GameRandom gameRandom;
+    private final BuildingLevelsCache buildingLevels;
+    private final WalletService walletService;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public TrainingService(BuildingRepository buildingRepository, GameCharacterRepository characterRepository, RosterSummaryRepository rosterSummaryRepository,
+                           GameRandom gameRandom, BuildingLevelsCache buildingLevels, WalletService walletService, UserRepository userRepository, ApplicationEventPublisher eventPublisher) {
         this.buildingRepository = buildingRepository;
         this.characterRepository = characterRepository;
+        this.rosterSummaryRepository = rosterSummaryRepository;
+        this.gameRandom = gameRandom;
+        this.buildingLevels = buildingLevels;
+        this.walletService = walletService;
+        this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -38,9 +52,9 @@ public class TrainingService {
             }
         }
 
-        // Roster limit: 6 + TrainingYardLevel
+        // Roster limit: 6 + TrainingYardLevel, counting living characters only; the claim on the yard below serializes recruits
         int limit = 6 + yard.getLevel();
-        int current = characterRepository.findByUser(user).size();
+        int current = rosterSummaryRepository.findCounts(user.getId()).orElse(RosterCounts.EMPTY).alive();
         if (current >= limit) {
             return new RecruitmentResult.RosterLimitReached("Roster limit reached (" + limit + " characters).");
         }
@@ -48,12 +62,18 @@ public class TrainingService {
         // Cost: 20g + 5 scrap + 5g * recruitsSoFar (reduced scaling for better balance)
         int goldCost = 20 + 5 * yard.getRecruitsCount(); // Reduced from 10 to 5 for better balance
         int scrapCost = 5;
-        if (user.getGold() < goldCost || user.getScrap() < scrapCost) {
+        walletService.materialize(user);
+        if (!walletService.spend(user, new ResourceWallet(0, 0, scrapCost, goldCost))) {
             return new RecruitmentResult.InsufficientResources("Not enough resources.");
         }
-        
-        user.setGold(user.getGold() - goldCost);
-        user.setScrap(user.getScrap() - scrapCost);
+
+        long version = userRepository.incrementStateVersion(user.getId());
+        if (buildingRepository.claimRecruit(yard.getId(), yard.getRecruitsCount(), now.minusSeconds(cooldownSeconds), now, version) == 0) {
+            // A concurrent recruit claimed the yard first; roll back our spend with the rest of the transaction
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            return new RecruitmentResult.Conflict("Another recruit claimed the training yard first");
+        }
+        walletService.publishChanged(user);
 
         GameCharacter c = new GameCharacter();
         c.setUser(user);
@@ -68,32 +88,32 @@ public class TrainingService {
             toAssign.addAll(randomTraits());
         }
         c.getTraits().addAll(toAssign);
+        c.setStateVersion(version);
         c = characterRepository.save(c);
-
-        yard.setLastActionAt(now);
-        yard.setRecruitsCount(yard.getRecruitsCount() + 1);
-        buildingRepository.save(yard);
+        rosterSummaryRepository.adjust(user.getId(), 1, 0, 0);
+        eventPublisher.publishEvent(new CharacterRecruitedEvent(user.getId(), user.getUsername(), c.getId(), c.getLevel()));
         return new RecruitmentResult.Success(c);
     }
 
     public int squadCap(UserAccount user) {
-        int level = buildingRepository.findByUserAndType(user, BuildingType.TRAINING_YARD).orElseThrow().getLevel();
+        int level = buildingLevels.get(user.getId()).level(BuildingType.TRAINING_YARD);
         return Math.min(4, level);
     }
 
     private CharacterClass randomClass() {
         CharacterClass[] values = CharacterClass.values();
-        return values[random.nextInt(values.length)];
+        return values[gameRandom.current().nextInt(values.length)];
     }
 
     private java.util.Set<TraitType> randomTraits() {
         TraitType[] values = TraitType.values();
-        return java.util.Set.of(values[random.nextInt(values.length)]);
+        return java.util.Set.of(values[gameRandom.current().nextInt(values.length)]);
     }
 
     private String generateName() {
         String[] first = {"Ryn", "Kael", "Mira", "Thorne", "Eira", "Dax"};
         String[] last = {"Ash", "Grim", "Vale", "Stone", "Shade", "Hale"};
+        RandomGenerator random = gameRandom.current();
         return first[random.nextInt(first.length)] + " " + last[random.nextInt(last.length)];
     }
 }
@@ -0,0 +1,46 @@
+package com.throneofdust.throneofdust.game;
+
+import com.throneofdust.throneofdust.auth.UserAccount;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+
+/**
+ * Set-based access to the balances stored on {@code users}. Writes are single conditional UPDATEs,
+ * so concurrent requests for one player never lose an update or spend the same resources twice.
+ */
+public interface WalletRepository extends Repository<UserAccount, Long> {
+
+    @Query("select new com.throneofdust.throneofdust.game.ResourceWallet(u.wood, u.stone, u.scrap, u.gold) from UserAccount u where u.id = :id")
+    ResourceWallet balances(@Param("id") Long id);
+
+    @Query("select u.lastCollectedAt from UserAccount u where u.id = :id")
+    Instant lastCollectedAt(@Param("id") Long id);
+
+    // Compare-and-set on lastCollectedAt: exactly one writer credits a given accrual window
+    @Modifying
+    @Query("""
+            update UserAccount u set
+                u.wood = greatest(u.wood, least(:capacity, u.wood + :wood)),
+                u.stone = greatest(u.stone, least(:capacity, u.stone + :stone)),
+                u.scrap = greatest(u.scrap, least(:capacity, u.scrap + :scrap)),
+                u.gold = u.gold + :gold,
+                u.lastCollectedAt = :now
+            where u.id = :id and u.lastCollectedAt = :since""")
+    int accrue(@Param("id") Long id, @Param("wood") int wood, @Param("stone") int stone, @Param("scrap") int scrap, @Param("gold") int gold,
+               @Param("capacity") int capacity, @Param("since") Instant since, @Param("now") Instant now);
+
+    @Modifying
+    @Query("""
+            update UserAccount u set
+                u.wood = u.wood - :wood, u.stone = u.stone - :stone, u.scrap = u.scrap - :scrap, u.gold = u.gold - :gold
+            where u.id = :id and u.wood >= :wood and u.stone >= :stone and u.scrap >= :scrap and u.gold >= :gold""")
+    int spend(@Param("id") Long id, @Param("wood") int wood, @Param("stone") int stone, @Param("scrap") int scrap, @Param("gold") int gold);
+
+    @Modifying
+    @Query("update UserAccount u set u.gold = u.gold + :gold, u.scrap = u.scrap + :scrap where u.id = :id")
+    int credit(@Param("id") Long id, @Param("gold") int gold, @Param("scrap") int scrap);
+}
@@ -0,0 +1,76 @@
+package com.throneofdust.throneofdust.game;
+
+import com.throneofdust.throneofdust.auth.UserAccount;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Virtual wallet on top of the stored user balances. Reads never write; accrued production is
+ * only materialized when the balances are about to change (spends and loot).
+ * All writes go through {@link WalletRepository} and must run inside the caller's transaction.
+ */
+@Service
+public class WalletService {
+
+    private final BuildingLevelsCache buildingLevels;
+    private final WalletRepository walletRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public WalletService(BuildingLevelsCache buildingLevels, WalletRepository walletRepository, ApplicationEventPublisher eventPublisher) {
+        this.buildingLevels = buildingLevels;
+        this.walletRepository = walletRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public ResourceWallet current(UserAccount user) {
+        return ResourceWallet.accrue(user, buildingLevels.get(user.getId()), Instant.now());
+    }
+
+    /**
+     * Moves accrued production into the stored balances and restarts accrual from now.
+     * Call before spending or changing any production/storage building level.
+     *
+     * @return the amounts credited; empty when a concurrent request already credited this window
+     */
+    public ResourceWallet materialize(UserAccount user) {
+        Long userId = user.getId();
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS); // column precision, so the next compare matches
+        Instant since = walletRepository.lastCollectedAt(userId);
+        ResourceWallet stored = walletRepository.balances(userId);
+        BuildingLevels levels = buildingLevels.get(userId);
+        ResourceWallet produced = ResourceWallet.produced(levels, since, now);
+        int updated = walletRepository.accrue(userId, produced.wood(), produced.stone(), produced.scrap(), produced.gold(),
+                BuildingService.storageCapacity(levels), since, now);
+        if (updated == 0) {
+            return ResourceWallet.EMPTY;
+        }
+        return ResourceWallet.accrue(stored, since, levels, now).minus(stored);
+    }
+
+    /**
+     * Deducts {@code cost} in one conditional update.
+     *
+     * @return false, with nothing deducted, if any balance is short
+     */
+    public boolean spend(UserAccount user, ResourceWallet cost) {
+        return walletRepository.spend(user.getId(), cost.wood(), cost.stone(), cost.scrap(), cost.gold()) == 1;
+    }
+
+    public void credit(UserAccount user, int gold, int scrap) {
+        walletRepository.credit(user.getId(), gold, scrap);
+    }
+
+    /**
+     * Notifies the player's event stream of the freshly written balances.
+     *
+     * @return the stored balances as seen by this transaction
+     */
+    public ResourceWallet publishChanged(UserAccount user) {
+        ResourceWallet balances = walletRepository.balances(user.getId());
+        eventPublisher.publishEvent(GameEvent.walletChanged(user.getId(), balances));
+        return balances;
+    }
+}
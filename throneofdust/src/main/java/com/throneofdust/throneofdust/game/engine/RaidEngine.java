@@ -0,0 +1,181 @@
+package com.throneofdust.throneofdust.game.engine;
+
+import com.throneofdust.throneofdust.domain.enums.RaidMapTemplate;
+import com.throneofdust.throneofdust.domain.enums.TraitType;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Raid outcome math with no persistence or framework dependencies.
+ * Trait effects come from coefficient tables compiled once from {@link TraitType},
+ * so a resolution is a handful of array reads and random draws with no allocation.
+ */
+public final class RaidEngine {
+
+    private static final double[] RAID_FAIL = new double[SquadProfile.TRAIT_COUNT];
+    private static final double[] EXTRACT_FAIL = new double[SquadProfile.TRAIT_COUNT];
+    private static final double[] LOOT = new double[SquadProfile.TRAIT_COUNT];
+    private static final int MEDIC = SquadProfile.bit(TraitType.MEDIC);
+    private static final int UNTRUSTWORTHY = SquadProfile.bit(TraitType.UNTRUSTWORTHY);
+
+    static {
+        for (TraitType t : TraitType.values()) {
+            RAID_FAIL[t.ordinal()] = t.raidFailDelta;
+            EXTRACT_FAIL[t.ordinal()] = t.extractFailDelta;
+            LOOT[t.ordinal()] = t.lootDelta;
+        }
+    }
+
+    private RaidEngine() {
+    }
+
+    /**
+     * Rolls a raid for the given squad and writes the result into {@code out}.
+     * {@code radarLevel} only matters in ally mode.
+     */
+    public static void resolve(RaidMapTemplate map, boolean allyMode, int radarLevel, SquadProfile squad,
+                               RandomGenerator random, RaidOutcome out) {
+        int n = squad.size;
+        double avgLevel = squad.averageLevel();
+        double raidRisk = 0;
+        double extractRisk = 0;
+        double lootBonus = 0;
+        for (int t = 0; t < SquadProfile.TRAIT_COUNT; t++) {
+            int count = squad.traitCounts[t];
+            raidRisk += count * RAID_FAIL[t];
+            extractRisk += count * EXTRACT_FAIL[t];
+            lootBonus += count * LOOT[t];
+        }
+
+        double raidFail = map.baseRaidFail;
+        if (allyMode) raidFail -= 0.15; // ally helps
+        raidFail -= 0.005 * avgLevel; // 0.5% per average level
+        raidFail = clamp(raidFail + raidRisk, 0.05, 0.95);
+        boolean success = !roll(random, raidFail);
+
+        int lootGold = 0;
+        int lootScrap = 0;
+        if (success) {
+            lootGold = rng(random, map.goldMin, map.goldMax);
+            lootScrap = rng(random, map.scrapMin, map.scrapMax);
+            double multiplier = 1.0 + lootBonus;
+            lootGold = (int) Math.round(lootGold * multiplier);
+            lootScrap = (int) Math.round(lootScrap * multiplier);
+        }
+
+        // Survival rolls
+        double baseDeath = switch (map.difficulty) {
+            case EASY -> 0.05;
+            case NORMAL -> 0.10;
+            case HARD -> 0.20;
+        };
+        long alive = squad.aliveMask;
+        int casualties = 0;
+        for (int i = 0; i < n; i++) {
+            double deathChance = clamp(baseDeath - 0.01 * squad.levels[i], 0.01, 0.30);
+            if (roll(random, deathChance)) {
+                alive &= ~(1L << i);
+                casualties++;
+            }
+        }
+
+        // Own-squad betrayal (Untrustworthy survivors) BEFORE ally betrayal
+        if (success) {
+            long survivors = alive;
+            for (int i = 0; i < n; i++) {
+                if ((survivors & (1L << i)) != 0 && (squad.traitMasks[i] & UNTRUSTWORTHY) != 0 && roll(random, 0.10)) {
+                    lootGold = lootGold - (int) Math.floor(lootGold * 0.10);
+                    lootScrap = lootScrap - (int) Math.floor(lootScrap * 0.10);
+                    alive &= ~(1L << i); // desert/remove
+                    casualties++;
+                }
+            }
+        }
+
+        // Ally betrayal (if Ally ON) AFTER own-squad betrayal
+        boolean betrayal = false;
+        if (allyMode && success) {
+            double betrayChance = clamp(0.20 - 0.02 * radarLevel, 0.02, 0.20);
+            if (roll(random, betrayChance)) {
+                betrayal = true;
+                lootGold = (int) Math.round(lootGold * 0.6);
+                lootScrap = (int) Math.round(lootScrap * 0.6);
+                int aliveCount = Long.bitCount(alive);
+                if (aliveCount > 0 && roll(random, 0.5)) {
+                    alive &= ~Long.lowestOneBit(dropLowestBits(alive, random.nextInt(aliveCount)));
+                    casualties++;
+                }
+            } else {
+                lootGold = (int) Math.round(lootGold * 1.05);
+                lootScrap = (int) Math.round(lootScrap * 1.05);
+            }
+        }
+
+        // Extraction
+        boolean extractionSuccess = success;
+        if (success) {
+            double extractFail = map.baseExtractFail;
+            extractFail -= 0.005 * avgLevel;
+            extractFail = clamp(extractFail + extractRisk, 0.05, 0.95);
+            if (roll(random, extractFail)) {
+                if (anyAliveWith(squad, alive, MEDIC)) {
+                    lootGold = (int) Math.round(lootGold * 0.5);
+                    lootScrap = (int) Math.round(lootScrap * 0.5);
+                } else {
+                    lootGold = 0;
+                    lootScrap = 0;
+                    extractionSuccess = false;
+                }
+            }
+        }
+
+        // XP awards
+        for (int i = 0; i < n; i++) {
+            int level = squad.levels[i];
+            int xp = squad.xp[i];
+            if ((alive & (1L << i)) != 0) {
+                xp += success ? 10 : 5;
+                while (xp >= level * 50) {
+                    xp -= level * 50;
+                    level++;
+                }
+            }
+            out.levels[i] = level;
+            out.xp[i] = xp;
+        }
+
+        out.success = success;
+        out.lootGold = lootGold;
+        out.lootScrap = lootScrap;
+        out.casualties = casualties;
+        out.betrayal = betrayal;
+        out.extractionSuccess = extractionSuccess;
+        out.survivorMask = alive;
+    }
+
+    private static boolean anyAliveWith(SquadProfile squad, long alive, int traitBit) {
+        for (long bits = alive; bits != 0; bits &= bits - 1) {
+            if ((squad.traitMasks[Long.numberOfTrailingZeros(bits)] & traitBit) != 0) return true;
+        }
+        return false;
+    }
+
+    private static long dropLowestBits(long bits, int count) {
+        for (int i = 0; i < count; i++) {
+            bits &= bits - 1;
+        }
+        return bits;
+    }
+
+    private static int rng(RandomGenerator random, int min, int max) {
+        return random.nextInt(max - min + 1) + min;
+    }
+
+    private static boolean roll(RandomGenerator random, double probability) {
+        return random.nextDouble() < probability;
+    }
+
+    private static double clamp(double v, double min, double max) {
+        return Math.max(min, Math.min(max, v));
+    }
+}
@@ -0,0 +1,43 @@
+package com.throneofdust.throneofdust.game.engine;
+
+/**
+ * Result of {@link RaidEngine#resolve}. Member slots line up with the order the squad was
+ * folded into its {@link SquadProfile}. Reusable across resolutions of the same or smaller squads.
+ */
+public final class RaidOutcome {
+
+    boolean success;
+    boolean betrayal;
+    boolean extractionSuccess;
+    int lootGold;
+    int lootScrap;
+    int casualties;
+    long survivorMask;
+    final int[] levels;
+    final int[] xp;
+
+    public RaidOutcome(int capacity) {
+        this.levels = new int[capacity];
+        this.xp = new int[capacity];
+    }
+
+    public boolean success() { return success; }
+    public boolean betrayal() { return betrayal; }
+    public boolean extractionSuccess() { return extractionSuccess; }
+    public int lootGold() { return lootGold; }
+    public int lootScrap() { return lootScrap; }
+    public int casualties() { return casualties; }
+    public long survivorMask() { return survivorMask; }
+
+    public boolean isAlive(int member) {
+        return (survivorMask & (1L << member)) != 0;
+    }
+
+    public int level(int member) {
+        return levels[member];
+    }
+
+    public int xp(int member) {
+        return xp[member];
+    }
+}
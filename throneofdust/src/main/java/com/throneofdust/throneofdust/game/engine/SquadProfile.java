@@ -0,0 +1,87 @@
+package com.throneofdust.throneofdust.game.engine;
+
+import com.throneofdust.throneofdust.domain.enums.TraitType;
+
+import java.util.Arrays;
+
+/**
+ * Primitive snapshot of a raid squad, folded in one pass over the members.
+ * Trait counts are indexed by {@link TraitType#ordinal()} and member traits are kept as bitmasks.
+ * Instances can be reused via {@link #reset()} so hot loops do not allocate.
+ */
+public final class SquadProfile {
+
+    /** The alive mask is a {@code long}, so a squad can never exceed 64 members. */
+    public static final int MAX_MEMBERS = Long.SIZE;
+
+    static final int TRAIT_COUNT = TraitType.values().length;
+
+    final int[] traitCounts = new int[TRAIT_COUNT];
+    final int[] levels;
+    final int[] xp;
+    final int[] traitMasks;
+    int size;
+    long levelSum;
+    long aliveMask;
+
+    public SquadProfile(int capacity) {
+        if (capacity < 0 || capacity > MAX_MEMBERS) {
+            throw new IllegalArgumentException("Squad capacity must be 0.." + MAX_MEMBERS);
+        }
+        this.levels = new int[capacity];
+        this.xp = new int[capacity];
+        this.traitMasks = new int[capacity];
+    }
+
+    public SquadProfile reset() {
+        Arrays.fill(traitCounts, 0);
+        size = 0;
+        levelSum = 0;
+        aliveMask = 0L;
+        return this;
+    }
+
+    public SquadProfile add(int level, int memberXp, int traitMask) {
+        if (size == levels.length) {
+            throw new IllegalStateException("Squad profile is full");
+        }
+        levels[size] = level;
+        xp[size] = memberXp;
+        traitMasks[size] = traitMask;
+        for (int bits = traitMask; bits != 0; bits &= bits - 1) {
+            traitCounts[Integer.numberOfTrailingZeros(bits)]++;
+        }
+        levelSum += level;
+        aliveMask |= 1L << size;
+        size++;
+        return this;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int traitCount(TraitType trait) {
+        return traitCounts[trait.ordinal()];
+    }
+
+    public double averageLevel() {
+        return size == 0 ? 1.0 : (double) levelSum / size;
+    }
+
+    public long aliveMask() {
+        return aliveMask;
+    }
+
+    public static int traitMask(Iterable<TraitType> traits) {
+        int mask = 0;
+        for (TraitType t : traits) {
+            mask |= bit(t);
+        }
+        return mask;
+    }
+
+    static int bit(TraitType trait) {
+        return 1 << trait.ordinal();
+    }
+}
@@ -0,0 +1,7 @@
+package com.throneofdust.throneofdust.leaderboard;
+
+public enum Board {
+    GOLD_LOOTED,        // total gold looted from resolved raids
+    RAID_SUCCESS_RATE,  // successful share of resolved raids in basis points (10000 = 100%), after a minimum number of raids
+    HIGHEST_LEVEL       // highest level any of the player's characters has reached
+}
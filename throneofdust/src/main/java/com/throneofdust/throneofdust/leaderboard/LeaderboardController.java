@@ -0,0 +1,38 @@
+package com.throneofdust.throneofdust.leaderboard;
+
+import com.throneofdust.throneofdust.auth.AuthFacade;
+import com.throneofdust.throneofdust.game.ErrorResponse;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/leaderboard")
+public class LeaderboardController {
+
+    private final AuthFacade authFacade;
+    private final LeaderboardService leaderboardService;
+
+    public LeaderboardController(AuthFacade authFacade, LeaderboardService leaderboardService) {
+        this.authFacade = authFacade;
+        this.leaderboardService = leaderboardService;
+    }
+
+    // Query budget: none, boards are served from memory and the player from the authenticated identity
+    @GetMapping
+    public ResponseEntity<?> leaderboard(@RequestParam(defaultValue = "GOLD_LOOTED") Board board,
+                                         @RequestParam(required = false) String around,
+                                         @RequestParam(defaultValue = "1") long fromRank,
+                                         @RequestParam(defaultValue = "20") int limit) {
+        Long userId = authFacade.currentUserId();
+        if (around == null) {
+            return ResponseEntity.ok(leaderboardService.page(board, userId, fromRank, limit));
+        }
+        if (!"me".equals(around)) {
+            return ResponseEntity.badRequest().body(ErrorResponse.of("around only supports 'me'"));
+        }
+        return ResponseEntity.ok(leaderboardService.around(board, userId, limit));
+    }
+}
@@ -0,0 +1,12 @@
+package com.throneofdust.throneofdust.leaderboard;
+
+import java.util.List;
+
+/**
+ * A slice of one board. {@code me} is the requesting player's own standing, null while they are
+ * not on the board.
+ */
+public record LeaderboardPage(Board board, int total, List<Entry> entries, Entry me) {
+
+    public record Entry(long rank, String username, long score) {}
+}
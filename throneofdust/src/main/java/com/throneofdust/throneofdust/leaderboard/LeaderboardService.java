@@ -0,0 +1,188 @@
+package com.throneofdust.throneofdust.leaderboard;
+
+import com.throneofdust.throneofdust.auth.UserRepository;
+import com.throneofdust.throneofdust.game.CharacterRecruitedEvent;
+import com.throneofdust.throneofdust.game.GameCharacterRepository;
+import com.throneofdust.throneofdust.game.RaidResolvedEvent;
+import com.throneofdust.throneofdust.game.RaidStatsRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Rankings kept in memory and updated as raids resolve and characters are recruited, so reading
+ * a board never aggregates over raids or characters. Rebuilt from the database at startup,
+ * before the server accepts requests; afterwards every committed resolution or recruit is
+ * applied as a delta.
+ * <p>
+ * The boards are per instance: with several nodes each one only sees its own updates until it
+ * restarts.
+ */
+@Service
+public class LeaderboardService {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaderboardService.class);
+
+    static final int MAX_PAGE = 100;
+
+    private record Tally(String username, long raids, long successes, long goldLooted, int highestLevel) {
+        static final Tally EMPTY = new Tally(null, 0, 0, 0, 0);
+    }
+
+    private final RaidStatsRepository raidStatsRepository;
+    private final GameCharacterRepository characterRepository;
+    private final UserRepository userRepository;
+    private final int minRaidsForRate;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Tally> tallies = new HashMap<>();
+    private final Map<Board, RankedIndex> indexes = new EnumMap<>(Board.class);
+
+    public LeaderboardService(
+            RaidStatsRepository raidStatsRepository,
+            GameCharacterRepository characterRepository,
+            UserRepository userRepository,
+            @Value("${app.leaderboard.min-raids-for-rate:10}") int minRaidsForRate
+    ) {
+        this.raidStatsRepository = raidStatsRepository;
+        this.characterRepository = characterRepository;
+        this.userRepository = userRepository;
+        this.minRaidsForRate = minRaidsForRate;
+        for (Board board : Board.values()) {
+            indexes.put(board, new RankedIndex());
+        }
+    }
+
+    @PostConstruct
+    public void rebuild() {
+        Map<Long, Tally> loaded = new HashMap<>();
+        for (Object[] row : raidStatsRepository.findTotalsByUser()) {
+            loaded.put(number(row[0]), new Tally((String) row[1], number(row[2]), number(row[3]), number(row[4]), 0));
+        }
+        for (Object[] row : characterRepository.findHighestLevelsByUser()) {
+            Tally tally = loaded.getOrDefault(number(row[0]), Tally.EMPTY);
+            loaded.put(number(row[0]), new Tally((String) row[1], tally.raids(), tally.successes(), tally.goldLooted(), (int) number(row[2])));
+        }
+
+        lock.writeLock().lock();
+        try {
+            tallies.clear();
+            indexes.values().forEach(RankedIndex::clear);
+            loaded.forEach(this::apply);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Leaderboards rebuilt for {} players", loaded.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onRaidResolved(RaidResolvedEvent event) {
+        String username = knownUsername(event.userId());
+        lock.writeLock().lock();
+        try {
+            Tally tally = tallies.getOrDefault(event.userId(), Tally.EMPTY);
+            apply(event.userId(), new Tally(tally.username() != null ? tally.username() : username,
+                    tally.raids() + 1, tally.successes() + (event.success() ? 1 : 0), tally.goldLooted() + event.lootGold(),
+                    Math.max(tally.highestLevel(), event.highestLevel())));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onCharacterRecruited(CharacterRecruitedEvent event) {
+        lock.writeLock().lock();
+        try {
+            Tally tally = tallies.getOrDefault(event.userId(), Tally.EMPTY);
+            apply(event.userId(), new Tally(event.username(), tally.raids(), tally.successes(), tally.goldLooted(),
+                    Math.max(tally.highestLevel(), event.level())));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Up to {@code limit} entries from the 1-based {@code fromRank}. */
+    public LeaderboardPage page(Board board, Long userId, long fromRank, int limit) {
+        lock.readLock().lock();
+        try {
+            return read(board, userId, Math.max(1, fromRank), limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Up to {@code limit} entries centred on the player, or the top of the board when they are not on it. */
+    public LeaderboardPage around(Board board, Long userId, int limit) {
+        lock.readLock().lock();
+        try {
+            int size = clamp(limit);
+            long rank = indexes.get(board).rank(userId);
+            long last = Math.max(1, indexes.get(board).size() - size + 1);
+            long fromRank = rank == 0 ? 1 : Math.max(1, Math.min(rank - size / 2, last));
+            return read(board, userId, fromRank, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private LeaderboardPage read(Board board, Long userId, long fromRank, int limit) {
+        RankedIndex index = indexes.get(board);
+        List<LeaderboardPage.Entry> entries = new ArrayList<>();
+        for (RankedIndex.Ranked ranked : index.range(fromRank, clamp(limit))) {
+            entries.add(entry(ranked.rank(), ranked.userId(), ranked.score()));
+        }
+        long rank = index.rank(userId);
+        LeaderboardPage.Entry me = rank == 0 ? null : entry(rank, userId, index.score(userId));
+        return new LeaderboardPage(board, index.size(), entries, me);
+    }
+
+    private LeaderboardPage.Entry entry(long rank, long userId, long score) {
+        return new LeaderboardPage.Entry(rank, tallies.get(userId).username(), score);
+    }
+
+    // Callers hold the write lock
+    private void apply(Long userId, Tally tally) {
+        tallies.put(userId, tally);
+        if (tally.raids() > 0) {
+            indexes.get(Board.GOLD_LOOTED).put(userId, tally.goldLooted());
+        }
+        if (tally.raids() >= Math.max(1, minRaidsForRate)) {
+            indexes.get(Board.RAID_SUCCESS_RATE).put(userId, tally.successes() * 10_000 / tally.raids());
+        }
+        if (tally.highestLevel() > 0) {
+            indexes.get(Board.HIGHEST_LEVEL).put(userId, tally.highestLevel());
+        }
+    }
+
+    // Resolution events carry no username; only a player's first appearance needs the lookup
+    private String knownUsername(Long userId) {
+        lock.readLock().lock();
+        try {
+            Tally tally = tallies.get(userId);
+            if (tally != null && tally.username() != null) {
+                return tally.username();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return userRepository.findUsernameById(userId).orElse(null);
+    }
+
+    private static int clamp(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE));
+    }
+
+    private static long number(Object value) {
+        return value == null ? 0 : ((Number) value).longValue();
+    }
+}
@@ -0,0 +1,192 @@
+package com.throneofdust.throneofdust.leaderboard;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Indexable skip list of players ordered by score descending, then user id ascending. Every link
+ * records how many entries it skips, so updates, rank lookups and seeks to a rank are O(log n)
+ * expected and a page of k entries is O(log n + k). Not thread-safe; {@link LeaderboardService}
+ * guards all of its indexes with one lock.
+ */
+final class RankedIndex {
+
+    record Ranked(long rank, long userId, long score) {}
+
+    private static final int MAX_LEVEL = 32;
+
+    private static final class Node {
+        final long userId;
+        final long score;
+        final Node[] next;
+        final long[] span; // entries passed when following next[i], counting the target
+
+        Node(long userId, long score, int levels) {
+            this.userId = userId;
+            this.score = score;
+            this.next = new Node[levels];
+            this.span = new long[levels];
+        }
+    }
+
+    private final Node head = new Node(0, 0, MAX_LEVEL);
+    private final Map<Long, Long> scores = new HashMap<>();
+    private final SplittableRandom random = new SplittableRandom();
+    private int levels = 1;
+
+    int size() {
+        return scores.size();
+    }
+
+    Long score(long userId) {
+        return scores.get(userId);
+    }
+
+    void put(long userId, long score) {
+        Long previous = scores.put(userId, score);
+        if (previous != null) {
+            if (previous == score) {
+                return;
+            }
+            unlink(userId, previous);
+        }
+        link(userId, score);
+    }
+
+    void remove(long userId) {
+        Long previous = scores.remove(userId);
+        if (previous != null) {
+            unlink(userId, previous);
+        }
+    }
+
+    /** 1-based rank, or 0 when the player is not on this board. */
+    long rank(long userId) {
+        Long score = scores.get(userId);
+        if (score == null) {
+            return 0;
+        }
+        long rank = 0;
+        Node x = head;
+        for (int i = levels - 1; i >= 0; i--) {
+            while (x.next[i] != null && !after(x.next[i], userId, score)) {
+                rank += x.span[i];
+                x = x.next[i];
+            }
+            if (x != head && x.userId == userId) {
+                return rank;
+            }
+        }
+        return 0;
+    }
+
+    /** Up to {@code count} entries starting at the 1-based {@code fromRank}. */
+    List<Ranked> range(long fromRank, int count) {
+        List<Ranked> page = new ArrayList<>(Math.max(0, Math.min(count, size())));
+        if (fromRank < 1 || fromRank > size()) {
+            return page;
+        }
+        long traversed = 0;
+        Node x = head;
+        for (int i = levels - 1; i >= 0; i--) {
+            while (x.next[i] != null && traversed + x.span[i] <= fromRank) {
+                traversed += x.span[i];
+                x = x.next[i];
+            }
+        }
+        for (long rank = fromRank; x != null && page.size() < count; rank++, x = x.next[0]) {
+            page.add(new Ranked(rank, x.userId, x.score));
+        }
+        return page;
+    }
+
+    void clear() {
+        scores.clear();
+        Arrays.fill(head.next, null);
+        Arrays.fill(head.span, 0);
+        levels = 1;
+    }
+
+    private void link(long userId, long score) {
+        Node[] update = new Node[MAX_LEVEL];
+        long[] rank = new long[MAX_LEVEL];
+        Node x = head;
+        for (int i = levels - 1; i >= 0; i--) {
+            rank[i] = i == levels - 1 ? 0 : rank[i + 1];
+            while (x.next[i] != null && before(x.next[i], userId, score)) {
+                rank[i] += x.span[i];
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+        int nodeLevels = randomLevels();
+        long sizeBefore = scores.size() - 1; // scores already holds the new entry
+        if (nodeLevels > levels) {
+            for (int i = levels; i < nodeLevels; i++) {
+                rank[i] = 0;
+                update[i] = head;
+                head.span[i] = sizeBefore;
+            }
+            levels = nodeLevels;
+        }
+        Node node = new Node(userId, score, nodeLevels);
+        for (int i = 0; i < nodeLevels; i++) {
+            node.next[i] = update[i].next[i];
+            update[i].next[i] = node;
+            node.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+            update[i].span[i] = rank[0] - rank[i] + 1;
+        }
+        for (int i = nodeLevels; i < levels; i++) {
+            update[i].span[i]++;
+        }
+    }
+
+    private void unlink(long userId, long score) {
+        Node[] update = new Node[MAX_LEVEL];
+        Node x = head;
+        for (int i = levels - 1; i >= 0; i--) {
+            while (x.next[i] != null && before(x.next[i], userId, score)) {
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+        Node target = x.next[0];
+        if (target == null || target.userId != userId || target.score != score) {
+            throw new IllegalStateException("Leaderboard index out of sync for user " + userId);
+        }
+        for (int i = 0; i < levels; i++) {
+            if (update[i].next[i] == target) {
+                update[i].span[i] += target.span[i] - 1;
+                update[i].next[i] = target.next[i];
+            } else {
+                update[i].span[i]--;
+            }
+        }
+        while (levels > 1 && head.next[levels - 1] == null) {
+            head.span[levels - 1] = 0;
+            levels--;
+        }
+    }
+
+    // Whether node sorts strictly before (userId, score): higher score first, then lower id
+    private static boolean before(Node node, long userId, long score) {
+        return node.score > score || (node.score == score && node.userId < userId);
+    }
+
+    private static boolean after(Node node, long userId, long score) {
+        return node.score < score || (node.score == score && node.userId > userId);
+    }
+
+    // Geometric with p = 1/4, as in Redis sorted sets
+    private int randomLevels() {
+        int level = 1;
+        while (level < MAX_LEVEL && (random.nextInt() & 3) == 0) {
+            level++;
+        }
+        return level;
+    }
+}
@@ -0,0 +1,64 @@
+package com.throneofdust.throneofdust.observability;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opens a {@link RequestQueryStats} scope around each API request, including the security filters,
+ * and publishes the totals as per-endpoint histograms tagged with the matched route pattern.
+ */
+public class QueryStatsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry registry;
+
+    public QueryStatsFilter(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestQueryStats stats = RequestQueryStats.open();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestQueryStats.close();
+            request.setAttribute(RequestQueryStats.ATTRIBUTE, stats);
+            record(request, stats);
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestQueryStats stats) {
+        // Route patterns keep the tag cardinality bounded; unmatched paths share one series
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Tags tags = Tags.of("method", request.getMethod(), "uri", pattern != null ? pattern.toString() : "UNMAPPED");
+        summary("db.request.statements", "statements", tags).record(stats.statements());
+        summary("db.request.entity.loads", "entities", tags).record(stats.entityLoads());
+        summary("db.request.flushes", "flushes", tags).record(stats.flushes());
+        Timer.builder("db.request.time")
+                .description("Time spent executing SQL per request")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(stats.dbNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private DistributionSummary summary(String name, String unit, Tags tags) {
+        return DistributionSummary.builder(name)
+                .baseUnit(unit)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
@@ -0,0 +1,50 @@
+package com.throneofdust.throneofdust.observability;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Times JDBC execution and counts flushes for the current request. Hibernate creates one instance
+ * per session from the class name, so the start timestamps are never shared between threads.
+ */
+public class QueryStatsSessionListener implements SessionEventListener {
+
+    private static final long serialVersionUID = 1L;
+
+    private long statementStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record(statementStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record(batchStart);
+    }
+
+    @Override
+    public void flushEnd(int numberOfEntities, int numberOfCollections) {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null) {
+            stats.flushed();
+        }
+    }
+
+    private static void record(long start) {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null) {
+            stats.executed(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.throneofdust.throneofdust.observability;
+
+/**
+ * Database work done on the current thread while a request is in flight. The Hibernate hooks only
+ * record while a scope is open, so scheduler and worker threads are never attributed to a request.
+ * After the request the finished instance is available as the {@link #ATTRIBUTE} request attribute.
+ */
+public final class RequestQueryStats {
+
+    public static final String ATTRIBUTE = RequestQueryStats.class.getName();
+
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private int entityLoads;
+    private int flushes;
+    private long dbNanos;
+
+    static RequestQueryStats open() {
+        RequestQueryStats stats = new RequestQueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void close() {
+        CURRENT.remove();
+    }
+
+    static RequestQueryStats current() {
+        return CURRENT.get();
+    }
+
+    void statementPrepared() {
+        statements++;
+    }
+
+    void entityLoaded() {
+        entityLoads++;
+    }
+
+    void flushed() {
+        flushes++;
+    }
+
+    void executed(long nanos) {
+        dbNanos += nanos;
+    }
+
+    /** SQL statements prepared, including inserts and updates issued by flushes. */
+    public int statements() {
+        return statements;
+    }
+
+    /** Entities materialized from result sets; DTO projections are not counted. */
+    public int entityLoads() {
+        return entityLoads;
+    }
+
+    public int flushes() {
+        return flushes;
+    }
+
+    /** Time spent executing statements and batches, excluding connection acquisition. */
+    public long dbNanos() {
+        return dbNanos;
+    }
+
+    @Override
+    public String toString() {
+        return statements + " statements, " + entityLoads + " entity loads, " + flushes + " flushes, " + dbNanos / 1_000_000 + " ms in the database";
+    }
+}
@@ -1,69 +1,71 @@
 package com.throneofdust.throneofdust.security;
 
-import com.throneofdust.throneofdust.auth.UserAccount;
-import com.throneofdust.throneofdust.auth.UserRepository;
+import com.throneofdust.throneofdust.auth.AuthenticatedUser;
+import com.throneofdust.throneofdust.auth.UserIdentityCache;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.User;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.stream.Collectors;
+import java.util.List;
 
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
 
+    private static final String EVENTS_PATH = "/api/events";
+
     private final JwtService jwtService;
-    private final UserRepository userRepository;
+    private final UserIdentityCache identityCache;
 
-    public JwtAuthFilter(JwtService jwtService, UserRepository userRepository) {
+    public JwtAuthFilter(JwtService jwtService, UserIdentityCache identityCache) {
         this.jwtService = jwtService;
-        this.userRepository = userRepository;
+        this.identityCache = identityCache;
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
-        String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+        String token = bearerToken(request);
+        if (token == null) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        String token = authHeader.substring(7);
-        String username;
-        try {
-            username = jwtService.extractUsername(token);
-        } catch (Exception ex) {
-            filterChain.doFilter(request, response);
-            return;
-        }
+        // Signature and expiry are checked once here; repeat tokens are served from the claims cache
+        String username = jwtService.verifiedClaims(token).map(Claims::getSubject).orElse(null);
 
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserAccount user = userRepository.findByUsername(username).orElse(null);
-            if (user != null && jwtService.isTokenValid(token, username)) {
-                UserDetails userDetails = User.withUsername(user.getUsername())
-                        .password(user.getPasswordHash())
-                        .authorities(user.getRoles().stream().map(r -> r.getName()).collect(Collectors.toList()).toArray(new String[0]))
-                        .build();
+            AuthenticatedUser principal = identityCache.lookup(username).orElse(null);
+            if (principal != null) {
+                List<SimpleGrantedAuthority> authorities = principal.roles().stream().map(SimpleGrantedAuthority::new).toList();
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
+                        principal, null, authorities);
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
-            } else {
             }
         }
 
         filterChain.doFilter(request, response);
     }
-}
-
 
+    private static String bearerToken(HttpServletRequest request) {
+        String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            return authHeader.substring(7);
+        }
+        // Browsers' EventSource cannot set headers, so only the event stream accepts the token as a query parameter
+        if (EVENTS_PATH.equals(request.getRequestURI())) {
+            return request.getParameter("access_token");
+        }
+        return null;
+    }
+}
@@ -1,29 +1,64 @@
 package com.throneofdust.throneofdust.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class JwtService {
 
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    });
+
+    private record VerifiedClaims(Claims claims, long expiresAtMs) {}
+
     private final Key signingKey;
     private final long expirationMs;
+    private final JwtParser parser;
+    // Keyed by token digest so raw bearer tokens are never held in memory longer than the request
+    private final Map<String, VerifiedClaims> verified = new ConcurrentHashMap<>();
+    private final int cacheMaxEntries;
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
 
     public JwtService(
             @Value("${app.security.jwt.secret}") String secret,
-            @Value("${app.security.jwt.expiration-ms}") long expirationMs
+            @Value("${app.security.jwt.expiration-ms}") long expirationMs,
+            @Value("${app.security.jwt.cache-max-entries:10000}") int cacheMaxEntries,
+            MeterRegistry meterRegistry
     ) {
         this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(toBase64(secret)));
         this.expirationMs = expirationMs;
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        this.cacheMaxEntries = cacheMaxEntries;
+        this.cacheHits = Counter.builder("jwt.claims.cache").tag("result", "hit").register(meterRegistry);
+        this.cacheMisses = Counter.builder("jwt.claims.cache").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("jwt.claims.cache.size", verified, Map::size).register(meterRegistry);
     }
 
     public String generateToken(String username, Map<String, Object> claims) {
@@ -38,32 +73,60 @@ public class JwtService {
                 .compact();
     }
 
+    /**
+     * Returns the claims of a correctly signed, unexpired token. Tokens seen before are answered
+     * from the cache without re-verifying the signature until they expire.
+     */
+    public Optional<Claims> verifiedClaims(String token) {
+        String key = digest(token);
+        VerifiedClaims cached = verified.get(key);
+        if (cached != null) {
+            if (cached.expiresAtMs() > System.currentTimeMillis()) {
+                cacheHits.increment();
+                return Optional.of(cached.claims());
+            }
+            verified.remove(key, cached);
+        }
+        cacheMisses.increment();
+
+        Claims claims;
+        try {
+            claims = parser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException ex) {
+            return Optional.empty();
+        }
+        if (claims.getExpiration() != null) {
+            remember(key, new VerifiedClaims(claims, claims.getExpiration().getTime()));
+        }
+        return Optional.of(claims);
+    }
+
     public String extractUsername(String token) {
-        return getAllClaims(token).getSubject();
+        return verifiedClaims(token).map(Claims::getSubject).orElseThrow(() -> new JwtException("Invalid token"));
     }
 
     public boolean isTokenValid(String token, String expectedUsername) {
-        try {
-            String username = extractUsername(token);
-            boolean isValid = username.equals(expectedUsername) && !isExpired(token);
-            if (!isValid) {
-            }
-            return isValid;
-        } catch (Exception e) {
-            return false;
-        }
+        return verifiedClaims(token).map(c -> c.getSubject().equals(expectedUsername)).orElse(false);
     }
 
-    private boolean isExpired(String token) {
-        return getAllClaims(token).getExpiration().before(new Date());
+    private void remember(String key, VerifiedClaims entry) {
+        if (verified.size() >= cacheMaxEntries) {
+            long now = System.currentTimeMillis();
+            verified.values().removeIf(c -> c.expiresAtMs() <= now);
+            // Still full of live tokens: drop an arbitrary tenth rather than scanning on every miss
+            Iterator<String> it = verified.keySet().iterator();
+            while (verified.size() >= cacheMaxEntries * 9L / 10 && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        }
+        verified.put(key, entry);
     }
 
-    private Claims getAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(signingKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    private static String digest(String token) {
+        MessageDigest sha = SHA256.get();
+        sha.reset();
+        return Base64.getEncoder().encodeToString(sha.digest(token.getBytes(StandardCharsets.UTF_8)));
     }
 
     private static String toBase64(String secret) {
@@ -76,5 +139,3 @@ public class JwtService {
         }
     }
 }
-
-
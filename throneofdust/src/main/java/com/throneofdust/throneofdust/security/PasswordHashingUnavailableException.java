@@ -0,0 +1,14 @@
+package com.throneofdust.throneofdust.security;
+
+/**
+ * Thrown when a password hash or check cannot get a hashing thread in time. Callers answer
+ * with 503 so clients back off instead of piling more BCrypt work onto a saturated node.
+ */
+public class PasswordHashingUnavailableException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public PasswordHashingUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,120 @@
+package com.throneofdust.throneofdust.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.throneofdust.throneofdust.auth.AuthenticatedUser;
+import com.throneofdust.throneofdust.game.ErrorResponse;
+import com.throneofdust.throneofdust.security.UserRateLimiter.EndpointClass;
+import com.throneofdust.throneofdust.security.UserRateLimiter.Limit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Throttles authenticated API requests per user and endpoint class, so one client looping on
+ * collect or resolve is turned away before it reaches the database. Runs right after
+ * {@link JwtAuthFilter}; anonymous requests and the event stream are not limited.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String EVENTS_PATH = "/api/events";
+    private static final Pattern COLLECT = Pattern.compile("/api/player/collect|/api/buildings/[^/]+/collect");
+    private static final Pattern RESOLVE = Pattern.compile("/api/raids/[^/]+/resolve");
+
+    private final boolean enabled;
+    private final UserRateLimiter limiter;
+    private final ObjectMapper objectMapper;
+    private final Map<EndpointClass, Counter> rejections = new EnumMap<>(EndpointClass.class);
+
+    public RateLimitFilter(
+            @Value("${app.security.rate-limit.enabled:true}") boolean enabled,
+            @Value("${app.security.rate-limit.max-users:100000}") int maxUsers,
+            @Value("${app.security.rate-limit.read.capacity:30}") int readCapacity,
+            @Value("${app.security.rate-limit.read.per-second:10}") double readPerSecond,
+            @Value("${app.security.rate-limit.action.capacity:20}") int actionCapacity,
+            @Value("${app.security.rate-limit.action.per-second:5}") double actionPerSecond,
+            @Value("${app.security.rate-limit.collect.capacity:5}") int collectCapacity,
+            @Value("${app.security.rate-limit.collect.per-second:1}") double collectPerSecond,
+            @Value("${app.security.rate-limit.resolve.capacity:10}") int resolveCapacity,
+            @Value("${app.security.rate-limit.resolve.per-second:2}") double resolvePerSecond,
+            ObjectMapper objectMapper,
+            MeterRegistry registry
+    ) {
+        this.enabled = enabled;
+        Map<EndpointClass, Limit> limits = new EnumMap<>(EndpointClass.class);
+        limits.put(EndpointClass.READ, new Limit(readCapacity, readPerSecond));
+        limits.put(EndpointClass.ACTION, new Limit(actionCapacity, actionPerSecond));
+        limits.put(EndpointClass.COLLECT, new Limit(collectCapacity, collectPerSecond));
+        limits.put(EndpointClass.RESOLVE, new Limit(resolveCapacity, resolvePerSecond));
+        this.limiter = new UserRateLimiter(limits, maxUsers);
+        this.objectMapper = objectMapper;
+        for (EndpointClass endpoint : EndpointClass.values()) {
+            rejections.put(endpoint, Counter.builder("http.ratelimit.rejected")
+                    .tag("endpoint", endpoint.name().toLowerCase())
+                    .register(registry));
+        }
+        Gauge.builder("http.ratelimit.tracked.users", limiter, UserRateLimiter::trackedUsers).register(registry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || EVENTS_PATH.equals(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof AuthenticatedUser user)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        EndpointClass endpoint = classify(request);
+        long waitNanos = limiter.tryAcquire(user.id(), endpoint);
+        if (waitNanos > 0) {
+            rejections.get(endpoint).increment();
+            long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), ErrorResponse.of("Too many requests, retry in " + retryAfterSeconds + "s"));
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    static EndpointClass classify(HttpServletRequest request) {
+        String method = request.getMethod();
+        if (HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method)) {
+            return EndpointClass.READ;
+        }
+        String path = request.getRequestURI();
+        if (COLLECT.matcher(path).matches()) {
+            return EndpointClass.COLLECT;
+        }
+        if (RESOLVE.matcher(path).matches()) {
+            return EndpointClass.RESOLVE;
+        }
+        return EndpointClass.ACTION;
+    }
+}
@@ -0,0 +1,120 @@
+package com.throneofdust.throneofdust.security;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets per user and {@link EndpointClass}. Each bucket is one theoretical arrival time
+ * (the GCRA form of a token bucket) updated by compare-and-set, so a check takes no lock and, once
+ * the user is tracked, allocates nothing.
+ * <p>
+ * A user whose buckets have all refilled carries no state worth keeping, so sweeps drop them
+ * without changing any decision. Sweeps run at most once per second, when a new user is tracked.
+ * At most {@code maxUsers} users are tracked; beyond that, new users pass unchecked until a sweep
+ * frees room.
+ */
+public class UserRateLimiter {
+
+    public enum EndpointClass {
+        READ,       // GET requests
+        ACTION,     // other writes, including batches
+        COLLECT,    // resource collection
+        RESOLVE     // raid resolution
+    }
+
+    public record Limit(int capacity, double refillPerSecond) {}
+
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final long[] intervalNanos;   // time to refill one token, per endpoint class
+    private final long[] burstNanos;      // time to refill a whole bucket
+    private final int maxUsers;
+    private final LongSupplier nanoClock;
+    private final Map<Long, AtomicLongArray> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweepAt;
+
+    public UserRateLimiter(Map<EndpointClass, Limit> limits, int maxUsers) {
+        this(limits, maxUsers, System::nanoTime);
+    }
+
+    UserRateLimiter(Map<EndpointClass, Limit> limits, int maxUsers, LongSupplier nanoClock) {
+        EndpointClass[] classes = EndpointClass.values();
+        this.intervalNanos = new long[classes.length];
+        this.burstNanos = new long[classes.length];
+        for (EndpointClass endpoint : classes) {
+            Limit limit = limits.get(endpoint);
+            if (limit == null || limit.capacity() < 1 || limit.refillPerSecond() <= 0) {
+                throw new IllegalArgumentException("Invalid rate limit for " + endpoint + ": " + limit);
+            }
+            long interval = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / limit.refillPerSecond()));
+            intervalNanos[endpoint.ordinal()] = interval;
+            burstNanos[endpoint.ordinal()] = interval * limit.capacity();
+        }
+        this.maxUsers = maxUsers;
+        this.nanoClock = nanoClock;
+        this.nextSweepAt = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    /**
+     * Takes one token from the user's bucket for {@code endpoint}.
+     *
+     * @return 0 when admitted, otherwise the nanoseconds until a token is available
+     */
+    public long tryAcquire(Long userId, EndpointClass endpoint) {
+        long now = nanoClock.getAsLong();
+        AtomicLongArray arrivals = buckets.get(userId);
+        if (arrivals == null) {
+            sweep(now);
+            if (buckets.size() >= maxUsers) {
+                return 0;
+            }
+            arrivals = buckets.computeIfAbsent(userId, id -> fullBuckets());
+        }
+        int i = endpoint.ordinal();
+        while (true) {
+            long arrival = arrivals.get(i);
+            long next = Math.max(arrival, now) + intervalNanos[i];
+            long excess = next - now - burstNanos[i];
+            if (excess > 0) {
+                return excess;
+            }
+            if (arrivals.compareAndSet(i, arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public int trackedUsers() {
+        return buckets.size();
+    }
+
+    // A request racing with the removal of its entry may go uncounted, which only errs towards admitting
+    private void sweep(long now) {
+        long due = nextSweepAt.get();
+        if (now - due < 0 || !nextSweepAt.compareAndSet(due, now + SWEEP_INTERVAL_NANOS)) {
+            return;
+        }
+        buckets.values().removeIf(arrivals -> refilled(arrivals, now));
+    }
+
+    private static boolean refilled(AtomicLongArray arrivals, long now) {
+        for (int i = 0; i < arrivals.length(); i++) {
+            long arrival = arrivals.get(i);
+            if (arrival != Long.MIN_VALUE && arrival - now > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private AtomicLongArray fullBuckets() {
+        long[] arrivals = new long[intervalNanos.length];
+        Arrays.fill(arrivals, Long.MIN_VALUE);
+        return new AtomicLongArray(arrivals);
+    }
+}
@@ -0,0 +1,13 @@
+-- Secondary indexes for the per-player finders; QueryPlanTest fails when one of them falls back to a sequential scan.
+-- Already covered elsewhere: buildings by uk_user_building_type (user_id, type), character_traits and user_roles
+-- by their primary keys, raids by user through idx_raids_user_end_at (V5), raid_members by character through
+-- idx_raid_members_character (V9).
+
+-- Roster listings, counts by status and claimIdle's ownership check
+CREATE INDEX idx_characters_user_status ON characters (user_id, status);
+
+-- Active raids of one player; in-progress raids are a small slice of the table, so a partial index stays tiny
+CREATE INDEX idx_raids_user_in_progress ON raids (user_id) WHERE status = 'IN_PROGRESS';
+
+-- Completion scheduler: due raids oldest first, and the deadline reload at startup
+CREATE INDEX idx_raids_in_progress_end_at ON raids (end_at) WHERE status = 'IN_PROGRESS';
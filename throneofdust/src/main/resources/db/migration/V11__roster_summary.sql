@@ -0,0 +1,21 @@
+-- Per-player character counts by status, kept in step by the services that change a character's status so
+-- limit checks read one row. Dead includes archived characters. Rows are created by the first upsert; a
+-- player without one has no characters.
+CREATE TABLE roster_summary (
+    user_id BIGINT PRIMARY KEY REFERENCES users(id),
+    idle INTEGER NOT NULL DEFAULT 0,
+    on_raid INTEGER NOT NULL DEFAULT 0,
+    dead INTEGER NOT NULL DEFAULT 0
+);
+
+INSERT INTO roster_summary (user_id, idle, on_raid, dead)
+SELECT c.user_id,
+       COUNT(*) FILTER (WHERE c.status = 'IDLE'),
+       COUNT(*) FILTER (WHERE c.status = 'ON_RAID'),
+       COUNT(*) FILTER (WHERE c.status = 'DEAD')
+FROM characters c
+GROUP BY c.user_id;
+
+INSERT INTO roster_summary AS s (user_id, dead)
+SELECT a.user_id, COUNT(*) FROM characters_archive a GROUP BY a.user_id
+ON CONFLICT (user_id) DO UPDATE SET dead = s.dead + EXCLUDED.dead;
@@ -0,0 +1,13 @@
+-- Inputs the engine saw when a raid was resolved, slot i being the i-th member by ascending id.
+-- Together with the seed they replay the exact outcome even after the characters have moved on.
+ALTER TABLE raids
+    ADD COLUMN radar_level INTEGER,
+    ADD COLUMN member_levels INTEGER[],
+    ADD COLUMN member_xp INTEGER[],
+    ADD COLUMN member_traits INTEGER[];
+
+ALTER TABLE raids_archive
+    ADD COLUMN radar_level INTEGER,
+    ADD COLUMN member_levels INTEGER[],
+    ADD COLUMN member_xp INTEGER[],
+    ADD COLUMN member_traits INTEGER[];
@@ -0,0 +1,16 @@
+-- Archived characters vanish from the hot table, so a state delta has to name them for clients to drop.
+-- archived_version is the owner's state_version the archiving bumped to; a delta since v lists ids archived after v.
+ALTER TABLE characters_archive ADD COLUMN archived_version BIGINT;
+
+-- Rows archived before this column existed get a fresh version, so clients on any older delta base drop them too
+UPDATE users u SET state_version = u.state_version + 1
+WHERE EXISTS (SELECT 1 FROM characters_archive a WHERE a.user_id = u.id);
+
+UPDATE characters_archive a SET archived_version = u.state_version
+FROM users u WHERE u.id = a.user_id;
+
+ALTER TABLE characters_archive ALTER COLUMN archived_version SET NOT NULL;
+
+-- Leads with user_id, so it also serves the per-user lookups the old index did
+DROP INDEX idx_characters_archive_user;
+CREATE INDEX idx_characters_archive_user_version ON characters_archive (user_id, archived_version);
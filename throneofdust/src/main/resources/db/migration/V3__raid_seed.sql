@@ -0,0 +1,2 @@
+-- Per-raid RNG seed so any resolution can be replayed exactly
+ALTER TABLE raids ADD COLUMN seed BIGINT;
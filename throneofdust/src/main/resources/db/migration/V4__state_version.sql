@@ -0,0 +1,4 @@
+-- Per-player state version for conditional GETs; buildings and characters record the version that last changed them
+ALTER TABLE users ADD COLUMN state_version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE buildings ADD COLUMN state_version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE characters ADD COLUMN state_version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,2 @@
+-- Keyset pagination of a player's raid history on (end_at, id), newest first
+CREATE INDEX IF NOT EXISTS idx_raids_user_end_at ON raids (user_id, end_at DESC, id DESC);
@@ -0,0 +1,20 @@
+-- Hibernate now takes ids from these sequences in blocks of 50 (pooled optimizer) instead of
+-- reading them back from each INSERT, which lets inserts be batched. A block ends at the value
+-- nextval returns, so each sequence restarts 50 past the highest id already in its table.
+ALTER SEQUENCE users_id_seq INCREMENT BY 50;
+SELECT setval('users_id_seq', COALESCE((SELECT MAX(id) FROM users), 0) + 50, false);
+
+ALTER SEQUENCE roles_id_seq INCREMENT BY 50;
+SELECT setval('roles_id_seq', COALESCE((SELECT MAX(id) FROM roles), 0) + 50, false);
+
+ALTER SEQUENCE buildings_id_seq INCREMENT BY 50;
+SELECT setval('buildings_id_seq', COALESCE((SELECT MAX(id) FROM buildings), 0) + 50, false);
+
+ALTER SEQUENCE characters_id_seq INCREMENT BY 50;
+SELECT setval('characters_id_seq', COALESCE((SELECT MAX(id) FROM characters), 0) + 50, false);
+
+ALTER SEQUENCE raids_id_seq INCREMENT BY 50;
+SELECT setval('raids_id_seq', COALESCE((SELECT MAX(id) FROM raids), 0) + 50, false);
+
+-- V1 seeded 'USER' but registration assigns 'ROLE_USER'
+INSERT INTO roles (name) VALUES ('ROLE_USER') ON CONFLICT (name) DO NOTHING;
@@ -0,0 +1,18 @@
+-- Refresh tokens are stored as SHA-256 hex digests; the raw token only ever exists on the client.
+-- Every refresh consumes its token (used_at) and issues the next one in the same family, so a
+-- consumed token presented again means it was copied, and the whole family is revoked.
+CREATE TABLE refresh_tokens (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users(id),
+    token_hash VARCHAR(64) NOT NULL UNIQUE,
+    family_id UUID NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    used_at TIMESTAMP,
+    revoked BOOLEAN NOT NULL DEFAULT FALSE
+);
+
+CREATE INDEX idx_refresh_tokens_user ON refresh_tokens (user_id);
+CREATE INDEX idx_refresh_tokens_family ON refresh_tokens (family_id);
+
+ALTER SEQUENCE refresh_tokens_id_seq INCREMENT BY 50;
+SELECT setval('refresh_tokens_id_seq', 50, false);
@@ -0,0 +1,21 @@
+-- Per-player, per-map raid record. Resolution upserts one row in the same transaction, so reading a
+-- player's record is one primary-key range scan instead of an aggregate over raids.
+CREATE TABLE raid_stats (
+    user_id BIGINT NOT NULL REFERENCES users(id),
+    map VARCHAR(40) NOT NULL,
+    raids INTEGER NOT NULL DEFAULT 0,
+    successes INTEGER NOT NULL DEFAULT 0,
+    extractions INTEGER NOT NULL DEFAULT 0,
+    betrayals INTEGER NOT NULL DEFAULT 0,
+    casualties BIGINT NOT NULL DEFAULT 0,
+    loot_gold BIGINT NOT NULL DEFAULT 0,
+    loot_scrap BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (user_id, map)
+);
+
+-- Set when a resolved raid has been added to raid_stats, live or by the backfill, so neither counts it twice.
+-- A constant default is a catalog-only change, existing rows are not rewritten.
+ALTER TABLE raids ADD COLUMN stats_recorded BOOLEAN NOT NULL DEFAULT FALSE;
+
+-- Only raids resolved before this migration match, so the index empties as the backfill drains it
+CREATE INDEX idx_raids_stats_pending ON raids (id) WHERE status = 'RESOLVED' AND NOT stats_recorded;
@@ -0,0 +1,55 @@
+-- Cold tier for resolved raids past the retention window and for dead characters no hot raid references.
+-- Members and traits fold into arrays, so an archived raid or character is a single row, and the
+-- rows are never updated, so pages are packed full.
+CREATE TABLE raids_archive (
+    id BIGINT PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users(id),
+    map VARCHAR(40) NOT NULL,
+    ally_mode BOOLEAN NOT NULL,
+    start_at TIMESTAMP NOT NULL,
+    end_at TIMESTAMP NOT NULL,
+    success BOOLEAN,
+    loot_gold INTEGER,
+    loot_scrap INTEGER,
+    betrayal_occurred BOOLEAN,
+    extraction_success BOOLEAN,
+    casualties INTEGER,
+    seed BIGINT,
+    member_ids BIGINT[] NOT NULL
+) WITH (fillfactor = 100);
+
+CREATE INDEX idx_raids_archive_user_end_at ON raids_archive (user_id, end_at DESC, id DESC);
+
+CREATE TABLE characters_archive (
+    id BIGINT PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users(id),
+    name VARCHAR(60) NOT NULL,
+    character_class VARCHAR(20) NOT NULL,
+    level INTEGER NOT NULL,
+    xp INTEGER NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    traits VARCHAR(30)[] NOT NULL
+) WITH (fillfactor = 100);
+
+CREATE INDEX idx_characters_archive_user ON characters_archive (user_id);
+
+-- History reads go through these; with the (user_id, end_at, id) index on both sides a keyset page
+-- is a merge of two index scans
+CREATE VIEW raids_all AS
+    SELECT id, user_id, map, status, ally_mode, start_at, end_at, success, loot_gold, loot_scrap,
+           betrayal_occurred, extraction_success, casualties
+    FROM raids
+    UNION ALL
+    SELECT id, user_id, map, CAST('RESOLVED' AS VARCHAR(20)), ally_mode, start_at, end_at, success, loot_gold, loot_scrap,
+           betrayal_occurred, extraction_success, casualties
+    FROM raids_archive;
+
+CREATE VIEW raid_members_all AS
+    SELECT raid_id, character_id FROM raid_members
+    UNION ALL
+    SELECT id, unnest(member_ids) FROM raids_archive;
+
+-- Archiver candidates: oldest resolved raids first, dead characters, and whether a hot raid still lists a character
+CREATE INDEX idx_raids_resolved_end_at ON raids (end_at) WHERE status = 'RESOLVED';
+CREATE INDEX idx_characters_dead ON characters (id) WHERE status = 'DEAD';
+CREATE INDEX idx_raid_members_character ON raid_members (character_id);
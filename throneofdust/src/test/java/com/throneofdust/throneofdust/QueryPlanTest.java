@@ -0,0 +1,261 @@
+package com.throneofdust.throneofdust;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.throneofdust.throneofdust.auth.RefreshTokenRepository;
+import com.throneofdust.throneofdust.auth.RoleRepository;
+import com.throneofdust.throneofdust.auth.UserAccount;
+import com.throneofdust.throneofdust.auth.UserRepository;
+import com.throneofdust.throneofdust.domain.enums.BuildingType;
+import com.throneofdust.throneofdust.domain.enums.CharacterStatus;
+import com.throneofdust.throneofdust.domain.enums.RaidStatus;
+import com.throneofdust.throneofdust.game.BuildingRepository;
+import com.throneofdust.throneofdust.game.GameCharacterRepository;
+import com.throneofdust.throneofdust.game.RaidHistoryRepository;
+import com.throneofdust.throneofdust.game.RaidRepository;
+import com.throneofdust.throneofdust.game.RaidStatsRepository;
+import com.throneofdust.throneofdust.game.RaidSummary;
+import com.throneofdust.throneofdust.game.RosterSummaryRepository;
+import com.throneofdust.throneofdust.game.WalletRepository;
+import com.throneofdust.throneofdust.support.StatementCapture;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs every statement the request-path repository methods issue under EXPLAIN (FORMAT JSON),
+ * against a few thousand seeded players with fresh statistics, and fails when a plan reads one
+ * of the seeded tables with a sequential scan. The database is an embedded PostgreSQL that Flyway
+ * migrates at startup, so plans come from the real schema and indexes. Seeding, ANALYZE and the
+ * statements share one transaction that is rolled back. Startup rebuilds, the stats backfill and the archiver
+ * aggregate or sweep whole tables by design and are left out.
+ */
+@SpringBootTest(properties = {"app.raids.scheduler.enabled=false", "app.raids.stats-backfill.enabled=false", "app.archive.enabled=false"})
+@Import(StatementCapture.Hook.class)
+class QueryPlanTest {
+
+	private static final int PLAYERS = 3000;
+	private static final Set<String> SEEDED_TABLES = Set.of("users", "buildings", "characters", "character_traits", "raids",
+			"raid_members", "raid_stats", "refresh_tokens", "roster_summary");
+
+	private static EmbeddedPostgres postgres;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private RoleRepository roleRepository;
+
+	@Autowired
+	private RefreshTokenRepository refreshTokenRepository;
+
+	@Autowired
+	private WalletRepository walletRepository;
+
+	@Autowired
+	private BuildingRepository buildingRepository;
+
+	@Autowired
+	private GameCharacterRepository characterRepository;
+
+	@Autowired
+	private RaidRepository raidRepository;
+
+	@Autowired
+	private RaidHistoryRepository raidHistoryRepository;
+
+	@Autowired
+	private RaidStatsRepository raidStatsRepository;
+
+	@Autowired
+	private RosterSummaryRepository rosterSummaryRepository;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@DynamicPropertySource
+	static void embeddedDatabase(DynamicPropertyRegistry registry) throws IOException {
+		postgres = EmbeddedPostgres.builder().start();
+		registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+		registry.add("spring.datasource.username", () -> "postgres");
+		registry.add("spring.datasource.password", () -> "");
+	}
+
+	@AfterAll
+	static void stopDatabase() throws IOException {
+		if (postgres != null) {
+			postgres.close();
+		}
+	}
+
+	@Test
+	void requestPathQueriesUseIndexes() {
+		transactionTemplate.executeWithoutResult(status -> {
+			status.setRollbackOnly();
+			String prefix = "qp_" + UUID.randomUUID().toString().substring(0, 8) + "_";
+			seed(prefix);
+			jdbcTemplate.execute("ANALYZE " + String.join(", ", SEEDED_TABLES));
+
+			String username = jdbcTemplate.queryForObject("""
+					SELECT u.username FROM users u JOIN raids r ON r.user_id = u.id
+					WHERE u.username LIKE ? AND r.status = 'IN_PROGRESS' LIMIT 1""", String.class, prefix + "%");
+			UserAccount player = userRepository.findByUsername(username).orElseThrow();
+			List<StatementCapture.Captured> statements = StatementCapture.capture(() -> exercise(player));
+			assertThat(statements).hasSizeGreaterThan(25);
+
+			List<String> failures = new ArrayList<>();
+			for (StatementCapture.Captured statement : statements) {
+				List<String> scanned = new ArrayList<>();
+				collectSeqScans(explain(statement).get(0).get("Plan"), scanned);
+				if (!scanned.isEmpty()) {
+					failures.add("Sequential scan of " + scanned + " in: " + statement.sql());
+				}
+			}
+			assertThat(failures).isEmpty();
+		});
+	}
+
+	private void exercise(UserAccount player) {
+		Long userId = player.getId();
+		Instant now = Instant.now();
+
+		userRepository.findWithRolesByUsername(player.getUsername());
+		userRepository.existsByUsername(player.getUsername());
+		userRepository.findUsernameById(userId);
+		userRepository.incrementStateVersion(userId);
+		roleRepository.findByName("ROLE_USER");
+		refreshTokenRepository.findGrant("0".repeat(64));
+		refreshTokenRepository.consume("0".repeat(64), now);
+		refreshTokenRepository.revokeFamily(UUID.randomUUID());
+		refreshTokenRepository.deleteExpired(userId, now);
+
+		walletRepository.balances(userId);
+		walletRepository.lastCollectedAt(userId);
+		walletRepository.accrue(userId, 1, 1, 1, 1, 1000, now, now);
+		walletRepository.spend(userId, 1, 1, 1, 1);
+		walletRepository.credit(userId, 1, 1);
+
+		buildingRepository.findByUser(player);
+		Long yardId = buildingRepository.findByUserAndType(player, BuildingType.TRAINING_YARD).orElseThrow().getId();
+		buildingRepository.findByUserAndStateVersionGreaterThan(player, 0);
+		buildingRepository.findLevelsByUserId(userId);
+		buildingRepository.incrementLevel(yardId, 1, 1);
+		buildingRepository.claimRecruit(yardId, 0, now, now, 1);
+
+		List<Long> characterIds = characterRepository.findByUser(player).stream().map(c -> c.getId()).toList();
+		characterRepository.findByUserAndStatus(player, CharacterStatus.IDLE);
+		characterRepository.findByUserAndStateVersionGreaterThan(player, 0);
+		characterRepository.findWithTraitsByIdIn(characterIds);
+		characterRepository.findOwnersAndStatuses(characterIds);
+		characterRepository.findArchivedIdsByUserAfter(userId, 0);
+		characterRepository.claimIdle(characterIds, userId, 1);
+		rosterSummaryRepository.findCounts(userId);
+		rosterSummaryRepository.adjust(userId, -1, 1, 0);
+
+		Long raidId = raidRepository.findByUserAndStatus(player, RaidStatus.IN_PROGRESS).get(0).getId();
+		raidRepository.findByIdForUpdate(raidId);
+		raidRepository.findDeadlinesByStatus(RaidStatus.IN_PROGRESS);
+		raidRepository.findDueAfter(RaidStatus.IN_PROGRESS, now, Instant.EPOCH, 0L, Limit.of(50));
+		raidRepository.lockInProgress(raidId);
+
+		List<RaidSummary> page = raidHistoryRepository.findHistory(userId, null, Limit.of(21));
+		RaidSummary last = page.get(page.size() - 1);
+		raidHistoryRepository.findHistoryBefore(userId, RaidStatus.RESOLVED, last.endAt(), last.id(), Limit.of(21));
+		raidHistoryRepository.findMemberIds(page.stream().map(RaidSummary::id).toList());
+		raidStatsRepository.findByUserIdOrderByMap(userId);
+		raidStatsRepository.record(userId, "RUINED_FORT", 1, 1, 0, 0, 10, 0);
+	}
+
+	// Per player: 8 buildings, 10 characters with a trait each (2 on a raid, 2 dead), 12 raids of 3 members (one in
+	// progress for every tenth player), a raid_stats row per map, a roster summary and a refresh token
+	private void seed(String prefix) {
+		jdbcTemplate.update("""
+				INSERT INTO users (username, password_hash)
+				SELECT ? || g, 'seed' FROM generate_series(1, ?) g""", prefix, PLAYERS);
+		String seeded = "(SELECT id FROM users WHERE username LIKE '" + prefix + "%')";
+		jdbcTemplate.update("""
+				INSERT INTO buildings (user_id, type)
+				SELECT u.id, t.type FROM %s u
+				CROSS JOIN (VALUES ('LUMBER_MILL'), ('QUARRY'), ('MINE'), ('TREASURY'), ('STOREHOUSE'), ('TOWN_HALL'),
+				    ('TRAINING_YARD'), ('RADAR')) t(type)""".formatted(seeded));
+		jdbcTemplate.update("""
+				INSERT INTO characters (user_id, name, character_class, status, level)
+				SELECT u.id, 'Seed ' || g, (ARRAY['WARRIOR', 'ROGUE', 'MEDIC', 'SCOUT'])[g % 4 + 1],
+				    CASE WHEN g <= 6 THEN 'IDLE' WHEN g <= 8 THEN 'ON_RAID' ELSE 'DEAD' END, g % 5 + 1
+				FROM %s u CROSS JOIN generate_series(1, 10) g""".formatted(seeded));
+		jdbcTemplate.update("""
+				INSERT INTO character_traits (character_id, trait)
+				SELECT c.id, (ARRAY['STEADY_HAND', 'SCOUTS_EYE', 'MEDIC', 'LOOTER', 'CAUTIOUS', 'RECKLESS', 'UNTRUSTWORTHY'])[c.id % 7 + 1]
+				FROM characters c WHERE c.user_id IN %s""".formatted(seeded));
+		jdbcTemplate.update("""
+				INSERT INTO raids (user_id, map, status, start_at, end_at, success, loot_gold, loot_scrap, casualties, stats_recorded)
+				SELECT u.id, (ARRAY['ABANDONED_OUTPOST', 'RUINED_FORT', 'DEEP_WARRENS'])[g % 3 + 1],
+				    CASE WHEN g = 1 AND u.n % 10 = 0 THEN 'IN_PROGRESS' ELSE 'RESOLVED' END,
+				    now() - g * INTERVAL '1 day' - INTERVAL '1 hour', now() - (g - 1) * INTERVAL '1 day' + INTERVAL '1 hour',
+				    g % 2 = 0, 10 * g, g, 0, TRUE
+				FROM (SELECT id, row_number() OVER (ORDER BY id) AS n FROM %s s) u
+				CROSS JOIN generate_series(1, 12) g""".formatted(seeded));
+		jdbcTemplate.update("""
+				INSERT INTO raid_members (raid_id, character_id)
+				SELECT r.id, c.id
+				FROM (SELECT id, user_id, row_number() OVER (PARTITION BY user_id ORDER BY id) AS n FROM raids WHERE user_id IN %1$s) r
+				JOIN (SELECT id, user_id, row_number() OVER (PARTITION BY user_id ORDER BY id) AS n FROM characters WHERE user_id IN %1$s) c
+				    ON c.user_id = r.user_id AND (c.n - r.n + 30) %% 10 < 3""".formatted(seeded));
+		jdbcTemplate.update("""
+				INSERT INTO raid_stats (user_id, map, raids, successes, extractions, betrayals, casualties, loot_gold, loot_scrap)
+				SELECT u.id, m.map, 4, 2, 2, 0, 0, 100, 10 FROM %s u
+				CROSS JOIN (VALUES ('ABANDONED_OUTPOST'), ('RUINED_FORT'), ('DEEP_WARRENS')) m(map)""".formatted(seeded));
+		jdbcTemplate.update("INSERT INTO roster_summary (user_id, idle, on_raid, dead) SELECT u.id, 6, 2, 2 FROM %s u".formatted(seeded));
+		jdbcTemplate.update("""
+				INSERT INTO refresh_tokens (user_id, token_hash, family_id, expires_at)
+				SELECT u.id, md5(u.id::text) || md5('seed' || u.id), gen_random_uuid(), now() + INTERVAL '7 days' FROM %s u""".formatted(seeded));
+	}
+
+	private JsonNode explain(StatementCapture.Captured statement) {
+		return jdbcTemplate.execute((ConnectionCallback<JsonNode>) connection -> {
+			try (PreparedStatement explain = connection.prepareStatement("EXPLAIN (FORMAT JSON) " + statement.sql())) {
+				statement.bindTo(explain);
+				try (ResultSet rs = explain.executeQuery()) {
+					rs.next();
+					return objectMapper.readTree(rs.getString(1));
+				} catch (IOException ex) {
+					throw new IllegalStateException(ex);
+				}
+			}
+		});
+	}
+
+	private static void collectSeqScans(JsonNode plan, List<String> scanned) {
+		if ("Seq Scan".equals(plan.path("Node Type").asText()) && SEEDED_TABLES.contains(plan.path("Relation Name").asText())) {
+			scanned.add(plan.path("Relation Name").asText());
+		}
+		for (JsonNode child : plan.path("Plans")) {
+			collectSeqScans(child, scanned);
+		}
+	}
+}
@@ -0,0 +1,49 @@
+package com.throneofdust.throneofdust.auth;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class AuthenticatedRequestQueryTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private AuthService authService;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	void authenticatedRequestLoadsUserOnce() throws Exception {
+		String token = authService.register("qc_" + UUID.randomUUID().toString().substring(0, 8), "secret-pass").accessToken();
+		Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+		// First request warms the claims and identity caches
+		mockMvc.perform(get("/api/raids").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+				.andExpect(status().isOk());
+
+		stats.clear();
+		mockMvc.perform(get("/api/raids").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+				.andExpect(status().isOk());
+
+		// Previously the filter and AuthFacade each ran findByUsername
+		assertThat(stats.getEntityStatistics(UserAccount.class.getName()).getLoadCount()).isEqualTo(1);
+	}
+
+}
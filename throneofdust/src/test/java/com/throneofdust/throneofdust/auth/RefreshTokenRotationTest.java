@@ -0,0 +1,50 @@
+package com.throneofdust.throneofdust.auth;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "app.security.refresh.reuse-grace-ms=0")
+class RefreshTokenRotationTest {
+
+	@Autowired
+	private AuthService authService;
+
+	@Test
+	void refreshRotatesTheToken() {
+		AuthTokens registered = authService.register(newUsername(), "secret-pass");
+
+		AuthTokens refreshed = authService.refresh(registered.refreshToken()).orElseThrow();
+
+		assertThat(refreshed.refreshToken()).isNotEqualTo(registered.refreshToken());
+		assertThat(authService.refresh(refreshed.refreshToken())).isPresent();
+	}
+
+	@Test
+	void replayedTokenRevokesItsFamily() {
+		AuthTokens registered = authService.register(newUsername(), "secret-pass");
+		AuthTokens refreshed = authService.refresh(registered.refreshToken()).orElseThrow();
+
+		assertThat(authService.refresh(registered.refreshToken())).isEmpty();
+		// The legitimate holder of the rotated token is logged out too
+		assertThat(authService.refresh(refreshed.refreshToken())).isEmpty();
+	}
+
+	@Test
+	void logoutRevokesTheFamily() {
+		AuthTokens registered = authService.register(newUsername(), "secret-pass");
+
+		authService.logout(registered.refreshToken());
+
+		assertThat(authService.refresh(registered.refreshToken())).isEmpty();
+	}
+
+	private static String newUsername() {
+		return "rt_" + UUID.randomUUID().toString().substring(0, 8);
+	}
+
+}
@@ -0,0 +1,44 @@
+package com.throneofdust.throneofdust.auth;
+
+import com.throneofdust.throneofdust.support.QueryBudget;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Registration is one username check and four inserts (user, the eight buildings as a single
+ * batch, user role, refresh token), plus at most one sequence fetch each for users, buildings and
+ * refresh tokens when a block of 50 ids runs out. The first registration resolves and caches the
+ * role id.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@QueryBudget(max = 8, warmUp = 1)
+class RegistrationQueryBudgetTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void registrationBatchesBuildingSeed() throws Exception {
+		register();
+		register();
+	}
+
+	private void register() throws Exception {
+		String username = "rq_" + UUID.randomUUID().toString().substring(0, 8);
+		mockMvc.perform(post("/api/auth/register")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"username\":\"" + username + "\",\"password\":\"secret-pass\"}"))
+				.andExpect(status().isOk());
+	}
+
+}
@@ -0,0 +1,69 @@
+package com.throneofdust.throneofdust.game;
+
+import com.throneofdust.throneofdust.domain.enums.BuildingType;
+import com.throneofdust.throneofdust.support.GameFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "app.raids.scheduler.enabled=false")
+@Import(GameFixtures.class)
+class ActionBatchTest {
+
+	@Autowired
+	private GameFixtures fixtures;
+
+	@Autowired
+	private BuildingRepository buildingRepository;
+
+	@Autowired
+	private ActionBatchService actionBatchService;
+
+	@Test
+	void commandsSeeEarlierCommandsInTheSameBatch() {
+		Long userId = newPlayer(100000);
+
+		var batch = actionBatchService.execute(fixtures.reload(userId), List.of(
+				upgrade(BuildingType.TOWN_HALL), upgrade(BuildingType.TOWN_HALL), upgrade(BuildingType.TOWN_HALL)));
+
+		assertThat(batch.applied()).isTrue();
+		assertThat(batch.results()).extracting(r -> ((BuildingUpgradeResult.Success) r.result()).newLevel())
+				.containsExactly(2, 3, 4);
+		assertThat(townHallLevel(userId)).isEqualTo(4);
+	}
+
+	@Test
+	void rejectedCommandRollsBackTheWholeBatch() {
+		Long userId = newPlayer(40 * 2 + 60); // wood for the first upgrade only, with room for a few seconds of production
+
+		var batch = actionBatchService.execute(fixtures.reload(userId), List.of(
+				upgrade(BuildingType.TOWN_HALL), upgrade(BuildingType.TOWN_HALL), new ActionCommand.Collect()));
+
+		assertThat(batch.applied()).isFalse();
+		assertThat(batch.results()).extracting(ActionResult::status)
+				.containsExactly(ActionResult.Status.ROLLED_BACK, ActionResult.Status.REJECTED, ActionResult.Status.SKIPPED);
+		assertThat(batch.results().get(1).result()).isInstanceOf(BuildingUpgradeResult.InsufficientResources.class);
+		assertThat(townHallLevel(userId)).isEqualTo(1);
+		assertThat(fixtures.balance(userId, "wood")).isEqualTo(40 * 2 + 60);
+	}
+
+	private static ActionCommand upgrade(BuildingType type) {
+		return new ActionCommand.Upgrade(type);
+	}
+
+	private Long newPlayer(int wood) {
+		Long id = fixtures.newPlayer().getId();
+		fixtures.setBalances(id, wood, 100000, 100000, 0);
+		return id;
+	}
+
+	private int townHallLevel(Long userId) {
+		return buildingRepository.findByUserAndType(fixtures.reload(userId), BuildingType.TOWN_HALL).orElseThrow().getLevel();
+	}
+
+}
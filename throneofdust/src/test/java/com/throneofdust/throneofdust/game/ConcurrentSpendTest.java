@@ -0,0 +1,155 @@
+package com.throneofdust.throneofdust.game;
+
+import com.throneofdust.throneofdust.domain.enums.BuildingType;
+import com.throneofdust.throneofdust.domain.enums.CharacterStatus;
+import com.throneofdust.throneofdust.domain.enums.RaidMapTemplate;
+import com.throneofdust.throneofdust.support.GameFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Import(GameFixtures.class)
+class ConcurrentSpendTest {
+
+	private static final int THREADS = 16;
+
+	@Autowired
+	private GameFixtures fixtures;
+
+	@Autowired
+	private GameCharacterRepository characterRepository;
+
+	@Autowired
+	private BuildingRepository buildingRepository;
+
+	@Autowired
+	private RaidService raidService;
+
+	@Autowired
+	private BuildingService buildingService;
+
+	@Autowired
+	private TrainingService trainingService;
+
+	@Test
+	void characterIsClaimedByExactlyOneRaid() throws Exception {
+		Long userId = newPlayer(1000);
+		Long characterId = fixtures.character(fixtures.reload(userId), CharacterStatus.IDLE).getId();
+		RaidMapTemplate map = RaidMapTemplate.ABANDONED_OUTPOST;
+
+		int started = race(i -> () -> started(() -> raidService.startRaid(fixtures.reload(userId), map, List.of(characterId), false)));
+
+		assertThat(started).isEqualTo(1);
+		assertThat(fixtures.balance(userId, "gold")).isEqualTo(1000 - map.entryCostGold);
+		assertThat(characterRepository.findById(characterId).orElseThrow().getStatus()).isEqualTo(CharacterStatus.ON_RAID);
+	}
+
+	@Test
+	void goldIsNeverOverspent() throws Exception {
+		RaidMapTemplate map = RaidMapTemplate.ABANDONED_OUTPOST;
+		int affordable = 3;
+		Long userId = newPlayer(affordable * map.entryCostGold + map.entryCostGold - 1);
+		List<Long> characterIds = new ArrayList<>();
+		for (int i = 0; i < THREADS; i++) {
+			characterIds.add(fixtures.character(fixtures.reload(userId), CharacterStatus.IDLE).getId());
+		}
+
+		int started = race(i -> () -> started(() -> raidService.startRaid(fixtures.reload(userId), map, List.of(characterIds.get(i)), false)));
+
+		assertThat(started).isEqualTo(affordable);
+		assertThat(fixtures.balance(userId, "gold")).isEqualTo(map.entryCostGold - 1);
+		assertThat(characterRepository.findAllById(characterIds))
+				.filteredOn(c -> c.getStatus() == CharacterStatus.ON_RAID)
+				.hasSize(affordable);
+	}
+
+	@Test
+	void concurrentUpgradesPayOncePerLevel() throws Exception {
+		Long userId = newPlayer(0);
+		fixtures.setBalances(userId, 100000, 100000, 100000, 0);
+
+		int upgraded = race(i -> () -> buildingService.upgrade(fixtures.reload(userId), BuildingType.TOWN_HALL) instanceof BuildingUpgradeResult.Success);
+
+		int level = buildingRepository.findByUserAndType(fixtures.reload(userId), BuildingType.TOWN_HALL).orElseThrow().getLevel();
+		assertThat(level).isEqualTo(1 + upgraded);
+		int woodSpent = 0;
+		for (int l = 2; l <= level; l++) {
+			woodSpent += 40 * l;
+		}
+		assertThat(fixtures.balance(userId, "wood")).isEqualTo(100000 - woodSpent);
+	}
+
+	@Test
+	void concurrentRecruitsClaimTheYardOnce() throws Exception {
+		Long userId = fixtures.newPlayer().getId();
+		fixtures.setBalances(userId, 0, 0, 1000, 1000);
+		List<RecruitmentResult> losers = new CopyOnWriteArrayList<>();
+
+		int recruited = race(i -> () -> {
+			RecruitmentResult result = trainingService.recruit(fixtures.reload(userId), null, null);
+			if (result instanceof RecruitmentResult.Success) return true;
+			losers.add(result);
+			return false;
+		});
+
+		assertThat(recruited).isEqualTo(1);
+		assertThat(fixtures.balance(userId, "gold")).isEqualTo(1000 - 20);
+		assertThat(fixtures.balance(userId, "scrap")).isEqualTo(1000 - 5);
+		// Losers that read the yard before the winner committed lose the claim instead of seeing the cooldown
+		assertThat(losers).allSatisfy(r -> assertThat(r).isInstanceOfAny(RecruitmentResult.Conflict.class, RecruitmentResult.OnCooldown.class));
+	}
+
+	private int race(IntFunction<Callable<Boolean>> task) throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		try {
+			CountDownLatch start = new CountDownLatch(1);
+			List<Future<Boolean>> results = new ArrayList<>();
+			for (int i = 0; i < THREADS; i++) {
+				Callable<Boolean> attempt = task.apply(i);
+				results.add(pool.submit(() -> {
+					start.await();
+					return attempt.call();
+				}));
+			}
+			start.countDown();
+			int successes = 0;
+			for (Future<Boolean> result : results) {
+				if (result.get()) successes++;
+			}
+			return successes;
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	// Losing a race must surface as the service's normal rejection, never as a database error
+	private static boolean started(Runnable startRaid) {
+		try {
+			startRaid.run();
+			return true;
+		} catch (IllegalStateException e) {
+			return false;
+		}
+	}
+
+	private Long newPlayer(int gold) {
+		Long id = fixtures.newPlayer().getId();
+		fixtures.setBalances(id, 0, 0, 0, gold);
+		return id;
+	}
+
+}
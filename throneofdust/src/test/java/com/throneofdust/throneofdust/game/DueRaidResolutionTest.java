@@ -0,0 +1,57 @@
+package com.throneofdust.throneofdust.game;
+
+import com.throneofdust.throneofdust.auth.UserAccount;
+import com.throneofdust.throneofdust.domain.enums.RaidMapTemplate;
+import com.throneofdust.throneofdust.domain.enums.RaidStatus;
+import com.throneofdust.throneofdust.game.engine.SquadProfile;
+import com.throneofdust.throneofdust.support.GameFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"app.raids.scheduler.enabled=false", "app.raids.stats-backfill.enabled=false"})
+@Import(GameFixtures.class)
+class DueRaidResolutionTest {
+
+	@Autowired
+	private GameFixtures fixtures;
+
+	@Autowired
+	private RaidRepository raidRepository;
+
+	@Autowired
+	private RaidService raidService;
+
+	@Test
+	void failingRaidDoesNotBlockTheOthers() {
+		UserAccount user = fixtures.newPlayer();
+		// Oldest due raid, and one the engine rejects: more members than a squad can hold
+		Long broken = dueRaid(user, SquadProfile.MAX_MEMBERS + 1, Duration.ofHours(2));
+		List<Long> healthy = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			healthy.add(dueRaid(user, 2, Duration.ofHours(1).minusSeconds(i)));
+		}
+
+		try {
+			DueRaidsResult result = raidService.resolveDueRaids(1);
+
+			assertThat(result.failed()).isGreaterThanOrEqualTo(1);
+			assertThat(result.resolved()).isGreaterThanOrEqualTo(healthy.size());
+			assertThat(raidRepository.findAllById(healthy)).extracting(Raid::getStatus).containsOnly(RaidStatus.RESOLVED);
+			assertThat(raidRepository.findById(broken).orElseThrow().getStatus()).isEqualTo(RaidStatus.IN_PROGRESS);
+		} finally {
+			raidRepository.deleteById(broken);
+		}
+	}
+
+	private Long dueRaid(UserAccount user, int members, Duration endedAgo) {
+		return fixtures.finishedRaid(user, RaidMapTemplate.ABANDONED_OUTPOST, fixtures.squadOnRaid(user, members), endedAgo).getId();
+	}
+}
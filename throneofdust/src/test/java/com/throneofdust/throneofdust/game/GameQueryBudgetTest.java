@@ -0,0 +1,133 @@
+package com.throneofdust.throneofdust.game;
+
+import com.throneofdust.throneofdust.auth.AuthService;
+import com.throneofdust.throneofdust.auth.UserAccount;
+import com.throneofdust.throneofdust.auth.UserRepository;
+import com.throneofdust.throneofdust.domain.enums.CharacterClass;
+import com.throneofdust.throneofdust.domain.enums.CharacterStatus;
+import com.throneofdust.throneofdust.domain.enums.RaidMapTemplate;
+import com.throneofdust.throneofdust.domain.enums.RaidStatus;
+import com.throneofdust.throneofdust.domain.enums.TraitType;
+import com.throneofdust.throneofdust.support.QueryBudget;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Enforces the query budgets documented on the game endpoints. The roster and raid counts are
+ * well above one so that any per-entity select shows up as a budget overrun. Each test's first
+ * request warms the claims, identity and building-level caches and is not checked.
+ */
+@SpringBootTest(properties = "app.raids.scheduler.enabled=false")
+@AutoConfigureMockMvc
+@QueryBudget(max = 3, warmUp = 1)
+class GameQueryBudgetTest {
+
+	private static final int ROSTER = 13;
+	private static final int RAIDS = 6;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private AuthService authService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private GameCharacterRepository characterRepository;
+
+	@Autowired
+	private RaidRepository raidRepository;
+
+	private String token;
+	private List<GameCharacter> roster;
+
+	@BeforeEach
+	void seedVeteranPlayer() {
+		String username = "qb_" + UUID.randomUUID().toString().substring(0, 8);
+		token = authService.register(username, "secret-pass").accessToken();
+		UserAccount user = userRepository.findByUsername(username).orElseThrow();
+
+		roster = new ArrayList<>();
+		for (int i = 0; i < ROSTER; i++) {
+			GameCharacter c = new GameCharacter();
+			c.setUser(user);
+			c.setName("Budget " + i);
+			c.setCharacterClass(CharacterClass.SCOUT);
+			c.setStatus(CharacterStatus.IDLE);
+			c.getTraits().add(TraitType.values()[i % TraitType.values().length]);
+			roster.add(characterRepository.save(c));
+		}
+		Instant now = Instant.now();
+		for (int i = 0; i < RAIDS; i++) {
+			Raid raid = new Raid();
+			raid.setUser(user);
+			raid.setMap(RaidMapTemplate.ABANDONED_OUTPOST);
+			boolean active = i % 2 == 0;
+			raid.setStatus(active ? RaidStatus.IN_PROGRESS : RaidStatus.RESOLVED);
+			raid.setStartAt(now.minusSeconds(3600));
+			raid.setEndAt(active ? now.plusSeconds(3600 + i) : now.minusSeconds(60 + i));
+			raid.setMembers(Set.of(roster.get(2 * i), roster.get(2 * i + 1)));
+			raidRepository.save(raid);
+		}
+	}
+
+	@Test
+	void playerState() throws Exception {
+		perform(get("/api/player/state"));
+		perform(get("/api/player/state"));
+	}
+
+	@Test
+	void raidHistory() throws Exception {
+		perform(get("/api/raids").param("limit", String.valueOf(RAIDS)));
+		perform(get("/api/raids").param("limit", String.valueOf(RAIDS)));
+	}
+
+	@Test
+	@QueryBudget(max = 2, warmUp = 1)
+	void activeRaids() throws Exception {
+		perform(get("/api/raids/active"));
+		perform(get("/api/raids/active"));
+	}
+
+	@Test
+	@QueryBudget(max = 6, warmUp = 1)
+	void collect() throws Exception {
+		perform(get("/api/player/state"));
+		perform(post("/api/player/collect"));
+	}
+
+	@Test
+	@QueryBudget(max = 12, warmUp = 1)
+	void startRaid() throws Exception {
+		Long idle = roster.get(ROSTER - 1).getId(); // the seeded raids use the first 2 * RAIDS characters
+		perform(get("/api/player/state"));
+		perform(post("/api/raids/start")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"map\":\"ABANDONED_OUTPOST\",\"memberIds\":[" + idle + "],\"allyMode\":false}"));
+	}
+
+	private void perform(MockHttpServletRequestBuilder request) throws Exception {
+		mockMvc.perform(request.header(HttpHeaders.AUTHORIZATION, "Bearer " + token)).andExpect(status().isOk());
+	}
+
+}
@@ -0,0 +1,136 @@
+package com.throneofdust.throneofdust.game;
+
+import com.throneofdust.throneofdust.auth.UserAccount;
+import com.throneofdust.throneofdust.domain.enums.CharacterStatus;
+import com.throneofdust.throneofdust.domain.enums.RaidMapTemplate;
+import com.throneofdust.throneofdust.domain.enums.RaidStatus;
+import com.throneofdust.throneofdust.support.GameFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"app.raids.scheduler.enabled=false", "app.raids.stats-backfill.enabled=false", "app.archive.enabled=false"})
+@Import(GameFixtures.class)
+class HistoryArchiverTest {
+
+	@Autowired
+	private GameFixtures fixtures;
+
+	@Autowired
+	private GameCharacterRepository characterRepository;
+
+	@Autowired
+	private RaidRepository raidRepository;
+
+	@Autowired
+	private ArchiveRepository archiveRepository;
+
+	@Autowired
+	private RaidService raidService;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void archivedRaidsAndCharactersStayInHistory() {
+		UserAccount user = fixtures.newPlayer();
+		GameCharacter fallen = fixtures.character(user, CharacterStatus.DEAD);
+		Long fallenId = fallen.getId();
+
+		Raid old = new Raid();
+		old.setUser(user);
+		old.setMap(RaidMapTemplate.RUINED_FORT);
+		old.setStatus(RaidStatus.RESOLVED);
+		old.setStartAt(Instant.now().minus(Duration.ofDays(61)));
+		old.setEndAt(Instant.now().minus(Duration.ofDays(60)));
+		old.setSuccess(false);
+		old.setCasualties(1);
+		old.setLootGold(0);
+		old.setLootScrap(0);
+		old.setStatsRecorded(true);
+		old.setMembers(Set.of(fallen));
+		Long raidId = raidRepository.save(old).getId();
+
+		long versionBefore = fixtures.reload(user.getId()).getStateVersion();
+		Instant cutoff = Instant.now().minus(Duration.ofDays(30));
+		while (transactionTemplate.execute(status -> archiveRepository.archiveRaids(cutoff, 2)) > 0) {
+			// drain
+		}
+		while (transactionTemplate.execute(status -> archiveRepository.archiveDeadCharacters(2)) > 0) {
+			// drain
+		}
+
+		assertThat(raidRepository.findById(raidId)).isEmpty();
+		assertThat(characterRepository.findById(fallenId)).isEmpty();
+		// A state delta from before the archiving must tell the client to drop the character
+		long versionAfter = fixtures.reload(user.getId()).getStateVersion();
+		assertThat(versionAfter).isGreaterThan(versionBefore);
+		assertThat(characterRepository.findArchivedIdsByUserAfter(user.getId(), versionBefore)).containsExactly(fallenId);
+		assertThat(characterRepository.findArchivedIdsByUserAfter(user.getId(), versionAfter)).isEmpty();
+		RaidPage page = raidService.history(user, RaidStatus.RESOLVED, null, null, 10);
+		assertThat(page.items()).singleElement().satisfies(raid -> {
+			assertThat(raid.id()).isEqualTo(raidId);
+			assertThat(raid.status()).isEqualTo(RaidStatus.RESOLVED);
+			assertThat(raid.memberIds()).containsExactly(fallenId);
+		});
+	}
+
+	@Test
+	void deadOfABusyPlayerWaitForALaterBatch() throws Exception {
+		UserAccount user = fixtures.newPlayer();
+		Long fallenId = fixtures.character(user, CharacterStatus.DEAD).getId();
+
+		// A request holding the player's row: the archiver must pass over their dead instead of waiting
+		CountDownLatch locked = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService request = Executors.newSingleThreadExecutor();
+		try {
+			Future<?> holder = request.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+				jdbcTemplate.queryForObject("SELECT id FROM users WHERE id = ? FOR UPDATE", Long.class, user.getId());
+				locked.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			}));
+			locked.await();
+			long versionBefore = fixtures.reload(user.getId()).getStateVersion();
+			drainDeadCharacters();
+			assertThat(characterRepository.findById(fallenId)).isPresent();
+			release.countDown();
+			holder.get();
+			assertThat(fixtures.reload(user.getId()).getStateVersion()).isEqualTo(versionBefore);
+		} finally {
+			release.countDown();
+			request.shutdownNow();
+		}
+
+		drainDeadCharacters();
+		assertThat(characterRepository.findById(fallenId)).isEmpty();
+		assertThat(characterRepository.findArchivedIdsByUserAfter(user.getId(), 0)).containsExactly(fallenId);
+	}
+
+	private void drainDeadCharacters() {
+		while (transactionTemplate.execute(status -> archiveRepository.archiveDeadCharacters(1000)) > 0) {
+			// drain
+		}
+	}
+
+}
@@ -0,0 +1,94 @@
+package com.throneofdust.throneofdust.game;
+
+import com.throneofdust.throneofdust.auth.UserAccount;
+import com.throneofdust.throneofdust.domain.enums.CharacterStatus;
+import com.throneofdust.throneofdust.domain.enums.RaidMapTemplate;
+import com.throneofdust.throneofdust.domain.enums.TraitType;
+import com.throneofdust.throneofdust.game.engine.RaidOutcome;
+import com.throneofdust.throneofdust.support.GameFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"app.raids.scheduler.enabled=false", "app.raids.stats-backfill.enabled=false"})
+@Import(GameFixtures.class)
+class RaidReplayTest {
+
+	private static final TraitType[] TRAITS = TraitType.values();
+
+	@Autowired
+	private GameFixtures fixtures;
+
+	@Autowired
+	private GameCharacterRepository characterRepository;
+
+	@Autowired
+	private RaidRepository raidRepository;
+
+	@Autowired
+	private RaidService raidService;
+
+	@Test
+	void replayFromStoredSeedReproducesTheResolution() {
+		UserAccount user = fixtures.newPlayer();
+		for (RaidMapTemplate map : RaidMapTemplate.values()) {
+			Set<GameCharacter> squad = new HashSet<>();
+			for (int i = 0; i < 5; i++) {
+				squad.add(fixtures.character(user, CharacterStatus.ON_RAID, 1 + i * 3, i * 40,
+						TRAITS[i % TRAITS.length], TRAITS[(i + 3) % TRAITS.length]));
+			}
+			Long raidId = fixtures.finishedRaid(user, map, squad, Duration.ofMinutes(1)).getId();
+
+			raidService.resolveRaid(user, raidId);
+			Raid resolved = raidRepository.findById(raidId).orElseThrow();
+			List<GameCharacter> members = new ArrayList<>(characterRepository.findAllById(squad.stream().map(GameCharacter::getId).toList()));
+			members.sort(Comparator.comparing(GameCharacter::getId));
+
+			RaidOutcome replayed = raidService.replay(resolved);
+			assertThat(replayed.success()).isEqualTo(resolved.getSuccess());
+			assertThat(replayed.betrayal()).isEqualTo(resolved.getBetrayalOccurred());
+			assertThat(replayed.extractionSuccess()).isEqualTo(resolved.getExtractionSuccess());
+			assertThat(replayed.casualties()).isEqualTo(resolved.getCasualties());
+			assertThat(replayed.lootGold()).isEqualTo(resolved.getLootGold());
+			assertThat(replayed.lootScrap()).isEqualTo(resolved.getLootScrap());
+			for (int i = 0; i < members.size(); i++) {
+				GameCharacter c = members.get(i);
+				assertThat(replayed.isAlive(i)).isEqualTo(c.getStatus() == CharacterStatus.IDLE);
+				assertThat(replayed.level(i)).isEqualTo(c.getLevel());
+				assertThat(replayed.xp(i)).isEqualTo(c.getXp());
+			}
+
+			// Later progress must not leak into a replay
+			for (GameCharacter c : members) {
+				c.setLevel(c.getLevel() + 7);
+				c.setXp(0);
+			}
+			characterRepository.saveAll(members);
+			assertSameOutcome(raidService.replay(raidRepository.findById(raidId).orElseThrow()), replayed, members.size());
+		}
+	}
+
+	private static void assertSameOutcome(RaidOutcome actual, RaidOutcome expected, int size) {
+		assertThat(actual.success()).isEqualTo(expected.success());
+		assertThat(actual.betrayal()).isEqualTo(expected.betrayal());
+		assertThat(actual.extractionSuccess()).isEqualTo(expected.extractionSuccess());
+		assertThat(actual.casualties()).isEqualTo(expected.casualties());
+		assertThat(actual.lootGold()).isEqualTo(expected.lootGold());
+		assertThat(actual.lootScrap()).isEqualTo(expected.lootScrap());
+		assertThat(actual.survivorMask()).isEqualTo(expected.survivorMask());
+		for (int i = 0; i < size; i++) {
+			assertThat(actual.level(i)).isEqualTo(expected.level(i));
+			assertThat(actual.xp(i)).isEqualTo(expected.xp(i));
+		}
+	}
+}
@@ -0,0 +1,82 @@
+package com.throneofdust.throneofdust.game;
+
+import com.throneofdust.throneofdust.auth.UserAccount;
+import com.throneofdust.throneofdust.domain.enums.RaidMapTemplate;
+import com.throneofdust.throneofdust.domain.enums.RaidStatus;
+import com.throneofdust.throneofdust.support.GameFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"app.raids.scheduler.enabled=false", "app.raids.stats-backfill.enabled=false"})
+@Import(GameFixtures.class)
+class RaidStatsTest {
+
+	private static final RaidMapTemplate MAP = RaidMapTemplate.ABANDONED_OUTPOST;
+
+	@Autowired
+	private GameFixtures fixtures;
+
+	@Autowired
+	private RaidRepository raidRepository;
+
+	@Autowired
+	private RaidStatsRepository raidStatsRepository;
+
+	@Autowired
+	private RaidService raidService;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void backfillAndLiveResolutionCountEachRaidOnce() {
+		UserAccount user = fixtures.newPlayer();
+		for (int i = 0; i < 5; i++) {
+			legacyResolvedRaid(user, i % 2 == 0, 10 * i);
+		}
+
+		int chunks = 0;
+		while (transactionTemplate.execute(status -> raidStatsRepository.backfillChunk(2)) > 0) {
+			chunks++;
+		}
+		RaidStatsView.Line line = raidService.stats(user.getId()).overall();
+		assertThat(chunks).isGreaterThanOrEqualTo(3);
+		assertThat(line.raids()).isEqualTo(5);
+		assertThat(line.successes()).isEqualTo(3);
+		assertThat(line.lootGold()).isEqualTo(100);
+
+		Long raidId = fixtures.finishedRaid(user, MAP, fixtures.squadOnRaid(user, 1), Duration.ofMinutes(1)).getId();
+		raidService.resolveRaid(user, raidId);
+		transactionTemplate.execute(status -> raidStatsRepository.backfillChunk(100));
+
+		RaidStatsView stats = raidService.stats(user.getId());
+		assertThat(stats.overall().raids()).isEqualTo(6);
+		assertThat(stats.maps()).singleElement().extracting(RaidStatsView.Line::map).isEqualTo(MAP);
+	}
+
+	// A raid resolved before raid_stats existed: resolved, but not yet recorded
+	private void legacyResolvedRaid(UserAccount user, boolean success, int lootGold) {
+		Raid raid = new Raid();
+		raid.setUser(user);
+		raid.setMap(MAP);
+		raid.setStatus(RaidStatus.RESOLVED);
+		raid.setStartAt(Instant.now().minusSeconds(7200));
+		raid.setEndAt(Instant.now().minusSeconds(3600));
+		raid.setSuccess(success);
+		raid.setExtractionSuccess(success);
+		raid.setBetrayalOccurred(false);
+		raid.setCasualties(0);
+		raid.setLootGold(lootGold);
+		raid.setLootScrap(0);
+		raidRepository.save(raid);
+	}
+
+}
@@ -0,0 +1,59 @@
+package com.throneofdust.throneofdust.leaderboard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RankedIndexTest {
+
+	@Test
+	void ordersByScoreThenUserId() {
+		RankedIndex index = new RankedIndex();
+		index.put(7, 50);
+		index.put(3, 80);
+		index.put(5, 50);
+		index.put(3, 10); // update moves the player down
+
+		assertThat(index.range(1, 10)).extracting(RankedIndex.Ranked::userId).containsExactly(5L, 7L, 3L);
+		assertThat(index.rank(3)).isEqualTo(3);
+		assertThat(index.rank(42)).isZero();
+	}
+
+	@Test
+	void ranksAndPagesMatchASortedListUnderRandomUpdates() {
+		Random random = new Random(7);
+		RankedIndex index = new RankedIndex();
+		Map<Long, Long> scores = new HashMap<>();
+		for (int step = 0; step < 20_000; step++) {
+			long userId = random.nextInt(500);
+			if (random.nextInt(10) < 8) {
+				long score = random.nextInt(40);
+				index.put(userId, score);
+				scores.put(userId, score);
+			} else {
+				index.remove(userId);
+				scores.remove(userId);
+			}
+		}
+
+		List<Map.Entry<Long, Long>> expected = new ArrayList<>(scores.entrySet());
+		expected.sort(Comparator.comparing((Map.Entry<Long, Long> e) -> -e.getValue()).thenComparing(Map.Entry::getKey));
+		assertThat(index.size()).isEqualTo(expected.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertThat(index.rank(expected.get(i).getKey())).isEqualTo(i + 1);
+		}
+		List<RankedIndex.Ranked> page = index.range(100, 25);
+		for (int i = 0; i < page.size(); i++) {
+			assertThat(page.get(i).userId()).isEqualTo(expected.get(99 + i).getKey());
+			assertThat(page.get(i).rank()).isEqualTo(100 + i);
+		}
+	}
+
+}
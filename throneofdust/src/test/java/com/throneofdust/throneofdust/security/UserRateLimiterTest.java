@@ -0,0 +1,70 @@
+package com.throneofdust.throneofdust.security;
+
+import com.throneofdust.throneofdust.security.UserRateLimiter.EndpointClass;
+import com.throneofdust.throneofdust.security.UserRateLimiter.Limit;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserRateLimiterTest {
+
+	private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+	private final AtomicLong clock = new AtomicLong(-5 * SECOND); // nanoTime may be negative
+
+	@Test
+	void burstUpToCapacityThenRefillsAtRate() {
+		UserRateLimiter limiter = limiter(100);
+
+		for (int i = 0; i < 3; i++) {
+			assertThat(limiter.tryAcquire(1L, EndpointClass.COLLECT)).isZero();
+		}
+		assertThat(limiter.tryAcquire(1L, EndpointClass.COLLECT)).isEqualTo(SECOND);
+
+		clock.addAndGet(SECOND);
+		assertThat(limiter.tryAcquire(1L, EndpointClass.COLLECT)).isZero();
+		assertThat(limiter.tryAcquire(1L, EndpointClass.COLLECT)).isPositive();
+	}
+
+	@Test
+	void bucketsArePerUserAndEndpointClass() {
+		UserRateLimiter limiter = limiter(100);
+		for (int i = 0; i < 3; i++) {
+			limiter.tryAcquire(1L, EndpointClass.COLLECT);
+		}
+
+		assertThat(limiter.tryAcquire(1L, EndpointClass.COLLECT)).isPositive();
+		assertThat(limiter.tryAcquire(1L, EndpointClass.READ)).isZero();
+		assertThat(limiter.tryAcquire(2L, EndpointClass.COLLECT)).isZero();
+	}
+
+	@Test
+	void refilledUsersAreDroppedToMakeRoom() {
+		UserRateLimiter limiter = limiter(2);
+		limiter.tryAcquire(1L, EndpointClass.COLLECT);
+		limiter.tryAcquire(2L, EndpointClass.COLLECT);
+		assertThat(limiter.trackedUsers()).isEqualTo(2);
+
+		clock.addAndGet(3 * SECOND);
+		for (int i = 0; i < 3; i++) {
+			limiter.tryAcquire(3L, EndpointClass.COLLECT);
+		}
+
+		assertThat(limiter.trackedUsers()).isEqualTo(1);
+		assertThat(limiter.tryAcquire(3L, EndpointClass.COLLECT)).isPositive();
+	}
+
+	private UserRateLimiter limiter(int maxUsers) {
+		Map<EndpointClass, Limit> limits = new EnumMap<>(EndpointClass.class);
+		for (EndpointClass endpoint : EndpointClass.values()) {
+			limits.put(endpoint, new Limit(3, 1));
+		}
+		return new UserRateLimiter(limits, maxUsers, clock::get);
+	}
+
+}
@@ -0,0 +1,110 @@
+package com.throneofdust.throneofdust.support;
+
+import com.throneofdust.throneofdust.auth.AuthService;
+import com.throneofdust.throneofdust.auth.UserAccount;
+import com.throneofdust.throneofdust.auth.UserRepository;
+import com.throneofdust.throneofdust.domain.enums.CharacterClass;
+import com.throneofdust.throneofdust.domain.enums.CharacterStatus;
+import com.throneofdust.throneofdust.domain.enums.RaidMapTemplate;
+import com.throneofdust.throneofdust.domain.enums.RaidStatus;
+import com.throneofdust.throneofdust.domain.enums.TraitType;
+import com.throneofdust.throneofdust.game.GameCharacter;
+import com.throneofdust.throneofdust.game.GameCharacterRepository;
+import com.throneofdust.throneofdust.game.Raid;
+import com.throneofdust.throneofdust.game.RaidRepository;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Players, characters and raids for integration tests. Everything is saved right away in its own
+ * transaction and every player is new, so tests sharing the database never see each other's rows.
+ * Import it with {@code @Import(GameFixtures.class)}.
+ */
+@TestComponent
+public class GameFixtures {
+
+    private final AuthService authService;
+    private final UserRepository userRepository;
+    private final GameCharacterRepository characterRepository;
+    private final RaidRepository raidRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public GameFixtures(AuthService authService, UserRepository userRepository, GameCharacterRepository characterRepository,
+                        RaidRepository raidRepository, JdbcTemplate jdbcTemplate) {
+        this.authService = authService;
+        this.userRepository = userRepository;
+        this.characterRepository = characterRepository;
+        this.raidRepository = raidRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Registers a player with a random name and the usual starting buildings and balances. */
+    public UserAccount newPlayer() {
+        String username = "fx_" + UUID.randomUUID().toString().substring(0, 8);
+        authService.register(username, "secret-pass");
+        return userRepository.findByUsername(username).orElseThrow();
+    }
+
+    /** Re-reads a player, e.g. to pick up a state version or balance another transaction changed. */
+    public UserAccount reload(Long userId) {
+        return userRepository.findById(userId).orElseThrow();
+    }
+
+    /** Sets exact balances and restarts the accrual window, so production adds nothing measurable. */
+    public void setBalances(Long userId, int wood, int stone, int scrap, int gold) {
+        jdbcTemplate.update("UPDATE users SET wood = ?, stone = ?, scrap = ?, gold = ?, last_collected_at = CURRENT_TIMESTAMP WHERE id = ?",
+                wood, stone, scrap, gold, userId);
+    }
+
+    public int balance(Long userId, String resource) {
+        return jdbcTemplate.queryForObject("SELECT " + resource + " FROM users WHERE id = ?", Integer.class, userId);
+    }
+
+    /**
+     * Saves a level 1 character straight through the repository. Roster counters and the owner's
+     * state version are not touched.
+     */
+    public GameCharacter character(UserAccount user, CharacterStatus status) {
+        return character(user, status, 1, 0);
+    }
+
+    public GameCharacter character(UserAccount user, CharacterStatus status, int level, int xp, TraitType... traits) {
+        GameCharacter c = new GameCharacter();
+        c.setUser(user);
+        c.setName("Fixture " + status.name().toLowerCase());
+        c.setCharacterClass(CharacterClass.WARRIOR);
+        c.setStatus(status);
+        c.setLevel(level);
+        c.setXp(xp);
+        c.setTraits(new HashSet<>(List.of(traits)));
+        return characterRepository.save(c);
+    }
+
+    /** Saves {@code count} level 1 characters that are out on a raid. */
+    public Set<GameCharacter> squadOnRaid(UserAccount user, int count) {
+        Set<GameCharacter> squad = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            squad.add(character(user, CharacterStatus.ON_RAID));
+        }
+        return squad;
+    }
+
+    /** Saves an IN_PROGRESS raid that ended {@code endedAgo} ago and is waiting to be resolved. */
+    public Raid finishedRaid(UserAccount user, RaidMapTemplate map, Set<GameCharacter> members, Duration endedAgo) {
+        Raid raid = new Raid();
+        raid.setUser(user);
+        raid.setMap(map);
+        raid.setStatus(RaidStatus.IN_PROGRESS);
+        raid.setStartAt(Instant.now().minus(endedAgo).minus(Duration.ofHours(1)));
+        raid.setEndAt(Instant.now().minus(endedAgo));
+        raid.setMembers(members);
+        return raidRepository.save(raid);
+    }
+}
@@ -0,0 +1,25 @@
+package com.throneofdust.throneofdust.support;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.context.annotation.Import;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Fails a MockMvc test when a request prepares more SQL statements than {@link #max()}.
+ * Put it on the test class to hook MockMvc and set a default, and on methods to override it.
+ * The first {@link #warmUp()} requests of each test only fill caches and are not checked.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(QueryBudgetExtension.class)
+@Import(QueryBudgetExtension.MockMvcHook.class)
+public @interface QueryBudget {
+
+    int max();
+
+    int warmUp() default 0;
+}
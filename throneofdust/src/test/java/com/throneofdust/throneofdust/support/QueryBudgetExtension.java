@@ -0,0 +1,76 @@
+package com.throneofdust.throneofdust.support;
+
+import com.throneofdust.throneofdust.observability.RequestQueryStats;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcBuilderCustomizer;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.test.web.servlet.MvcResult;
+
+/**
+ * Backs {@link QueryBudget}. MockMvc runs requests on the test thread, so the active budget is a
+ * thread-local set around each test and checked by a result handler registered on every MockMvc.
+ */
+public class QueryBudgetExtension implements BeforeEachCallback, AfterEachCallback {
+
+    private static final ThreadLocal<Budget> ACTIVE = new ThreadLocal<>();
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        QueryBudget budget = AnnotatedElementUtils.findMergedAnnotation(context.getRequiredTestMethod(), QueryBudget.class);
+        if (budget == null) {
+            budget = AnnotatedElementUtils.findMergedAnnotation(context.getRequiredTestClass(), QueryBudget.class);
+        }
+        if (budget != null) {
+            ACTIVE.set(new Budget(budget.max(), budget.warmUp()));
+        }
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        Budget budget = ACTIVE.get();
+        ACTIVE.remove();
+        if (budget != null && context.getExecutionException().isEmpty() && budget.checked == 0) {
+            throw new AssertionError("@QueryBudget test made no checked requests; is the class annotated so MockMvc is hooked?");
+        }
+    }
+
+    static void verify(MvcResult result) {
+        Budget budget = ACTIVE.get();
+        if (budget == null) return;
+        if (budget.seen++ < budget.warmUp) return;
+        RequestQueryStats stats = (RequestQueryStats) result.getRequest().getAttribute(RequestQueryStats.ATTRIBUTE);
+        if (stats == null) {
+            throw new AssertionError("No query statistics recorded; is app.observability.query-stats.enabled off?");
+        }
+        budget.checked++;
+        if (stats.statements() > budget.max) {
+            throw new AssertionError(result.getRequest().getMethod() + " " + result.getRequest().getRequestURI()
+                    + " exceeded its query budget of " + budget.max + ": " + stats);
+        }
+    }
+
+    private static final class Budget {
+        final int max;
+        final int warmUp;
+        int seen;
+        int checked;
+
+        Budget(int max, int warmUp) {
+            this.max = max;
+            this.warmUp = warmUp;
+        }
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    public static class MockMvcHook {
+
+        @Bean
+        MockMvcBuilderCustomizer queryBudgetVerifier() {
+            return builder -> builder.alwaysDo(QueryBudgetExtension::verify);
+        }
+    }
+}
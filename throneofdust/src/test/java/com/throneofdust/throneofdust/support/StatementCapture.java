@@ -0,0 +1,128 @@
+package com.throneofdust.throneofdust.support;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.util.ClassUtils;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the SQL and parameter bindings of every prepared statement executed on the current
+ * thread inside {@link #capture(Runnable)}, so a test can replay them, for example under EXPLAIN.
+ * Import {@link Hook} to wrap the application's DataSource; outside a capture it only delegates.
+ */
+public final class StatementCapture {
+
+    private static final ThreadLocal<List<Captured>> ACTIVE = new ThreadLocal<>();
+
+    private StatementCapture() {
+    }
+
+    public static List<Captured> capture(Runnable work) {
+        List<Captured> captured = new ArrayList<>();
+        ACTIVE.set(captured);
+        try {
+            work.run();
+        } finally {
+            ACTIVE.remove();
+        }
+        return captured;
+    }
+
+    /** One executed statement with its parameters as bound by Hibernate. */
+    public record Captured(String sql, List<Binding> bindings) {
+
+        public void bindTo(PreparedStatement statement) throws SQLException {
+            for (Binding binding : bindings) {
+                invoke(binding.method(), statement, binding.args());
+            }
+        }
+    }
+
+    public record Binding(Method method, Object[] args) {
+    }
+
+    // Keeps every interface of the pool (Closeable included) so the context can still close it
+    static DataSource wrap(DataSource target) {
+        return (DataSource) proxy(ClassUtils.getAllInterfacesForClass(target.getClass()), target, (method, args) -> {
+            Object result = invoke(method, target, args);
+            return result instanceof Connection connection ? wrap(connection) : result;
+        });
+    }
+
+    private static Connection wrap(Connection target) {
+        return proxy(Connection.class, target, (method, args) -> {
+            Object result = invoke(method, target, args);
+            if (result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")) {
+                return wrap(statement, (String) args[0]);
+            }
+            return result;
+        });
+    }
+
+    private static PreparedStatement wrap(PreparedStatement target, String sql) {
+        List<Binding> bindings = new ArrayList<>();
+        return proxy(PreparedStatement.class, target, (method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                bindings.add(new Binding(method, args.clone()));
+            } else if (name.equals("clearParameters")) {
+                bindings.clear();
+            } else if ((args == null || args.length == 0) && name.startsWith("execute") && !name.equals("executeBatch")) {
+                List<Captured> captured = ACTIVE.get();
+                if (captured != null) {
+                    captured.add(new Captured(sql, List.copyOf(bindings)));
+                }
+            }
+            return invoke(method, target, args);
+        });
+    }
+
+    private interface Handler {
+        Object handle(Method method, Object[] args) throws Throwable;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, Handler handler) {
+        return (T) proxy(new Class<?>[]{type}, target, handler);
+    }
+
+    private static Object proxy(Class<?>[] types, Object target, Handler handler) {
+        return Proxy.newProxyInstance(StatementCapture.class.getClassLoader(), types, (proxy, method, args) -> handler.handle(method, args));
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws SQLException {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            if (ex.getCause() instanceof SQLException sql) throw sql;
+            if (ex.getCause() instanceof RuntimeException runtime) throw runtime;
+            throw new IllegalStateException(ex.getCause());
+        } catch (IllegalAccessException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    public static class Hook {
+
+        @Bean
+        static BeanPostProcessor statementCaptureDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+}
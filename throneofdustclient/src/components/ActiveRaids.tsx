@@ -26,22 +26,23 @@ export default function ActiveRaids({
   useEffect(() => {
     loadRaids();
 
-    // Set up interval to refresh raids every 30 seconds
-    const interval = setInterval(() => {
-      loadRaids();
-    }, 30000);
-
-    return () => clearInterval(interval);
+    // Reload when the server reports a raid finishing instead of polling
+    return api.subscribeEvents((name) => {
+      if (
+        name === "raid-finished" ||
+        name === "raid-resolved" ||
+        name === "resync"
+      ) {
+        loadRaids();
+      }
+    });
   }, []);
 
   const loadRaids = async () => {
     try {
       setLoading(true);
       setError(null);
-      const raidList = await api.getRaids();
-      // Filter out resolved raids - only show active raids
-      const activeRaids = raidList.filter((raid) => raid.status !== "RESOLVED");
-      setRaids(activeRaids);
+      setRaids(await api.getActiveRaids());
     } catch (err) {
       setError(err instanceof Error ? err.message : "Failed to load raids");
     } finally {
@@ -1,7 +1,7 @@
 import { useState } from "react";
 import { useForm } from "react-hook-form";
 import { zodResolver } from "@hookform/resolvers/zod";
-import { api, ApiError } from "@/services/api";
+import { api, ApiError, AuthTokens } from "@/services/api";
 import {
   loginSchema,
   registerSchema,
@@ -10,7 +10,7 @@ import {
 } from "@/schemas/auth";
 
 interface AuthFormProps {
-  onAuthSuccess: (token: string) => void;
+  onAuthSuccess: (tokens: AuthTokens) => void;
 }
 
 export default function AuthForm({ onAuthSuccess }: AuthFormProps) {
@@ -37,7 +37,7 @@ export default function AuthForm({ onAuthSuccess }: AuthFormProps) {
         username: data.username,
         password: data.password,
       });
-      onAuthSuccess(response.token);
+      onAuthSuccess(response);
     } catch (err) {
       if (err instanceof ApiError) {
         setError(err.message);
@@ -57,7 +57,7 @@ export default function Characters({
   const canRecruit = () => {
     return (
       getTrainingYardLevel() > 0 &&
-      playerState.characters.length < getRosterLimit() &&
+      aliveCharacters.length < getRosterLimit() &&
       canAffordRecruit()
     );
   };
@@ -253,13 +253,13 @@ export default function Characters({
               >
                 <div
                   className={`w-6 h-6 rounded-full flex items-center justify-center ${
-                    playerState.characters.length < getRosterLimit()
+                    aliveCharacters.length < getRosterLimit()
                       ? "bg-green-500"
                       : "bg-red-500"
                   }`}
                 >
                   <span className="text-xs text-white">
-                    {playerState.characters.length < getRosterLimit()
+                    {aliveCharacters.length < getRosterLimit()
                       ? "✓"
                       : "✗"}
                   </span>
@@ -1,7 +1,7 @@
 "use client";
 
 import { useState, useEffect, useCallback } from "react";
-import { PlayerState, ViewType } from "@/types/game";
+import { PlayerState, ViewType, WalletChangedEvent } from "@/types/game";
 import { api } from "@/services/api";
 import { useAuth } from "@/contexts/AuthContext";
 import ResourceDisplay from "./ResourceDisplay";
@@ -58,6 +58,18 @@ export default function GameLayout() {
     }
   }, [token, loadPlayerState]);
 
+  useEffect(() => {
+    if (!token) return;
+
+    // Keep resources in sync with server-side changes such as loot banked by the raid scheduler
+    return api.subscribeEvents((name, data) => {
+      if (name === "wallet-changed") {
+        const wallet = data as WalletChangedEvent;
+        setPlayerState((prev) => (prev ? { ...prev, ...wallet } : prev));
+      }
+    });
+  }, [token]);
+
   const handleCollectResources = useCallback(async () => {
     if (!playerState) return;
 
@@ -7,12 +7,12 @@ import {
   useEffect,
   ReactNode,
 } from "react";
-import { api } from "@/services/api";
+import { api, AuthTokens } from "@/services/api";
 
 interface AuthContextType {
   token: string | null;
   isAuthenticated: boolean;
-  login: (token: string) => void;
+  login: (tokens: AuthTokens) => void;
   logout: () => void;
   loading: boolean;
 }
@@ -31,9 +31,9 @@ export function AuthProvider({ children }: { children: ReactNode }) {
     setLoading(false);
   }, []);
 
-  const login = (newToken: string) => {
-    setToken(newToken);
-    localStorage.setItem("jwtToken", newToken);
+  const login = (tokens: AuthTokens) => {
+    setToken(tokens.token);
+    api.storeTokens(tokens);
   };
 
   const logout = () => {
@@ -7,10 +7,95 @@ import {
   RecruitRequest,
   StartRaidRequest,
   BuildingType,
+  GameEventName,
+  ActionCommand,
+  ActionBatchResponse,
+  LeaderboardBoard,
+  LeaderboardPage,
+  RaidStats,
 } from "@/types/game";
 
 const API_BASE = process.env.NEXT_PUBLIC_API_URL || "http://localhost:8080/api";
 
+const ACCESS_TOKEN_KEY = "jwtToken";
+const REFRESH_TOKEN_KEY = "refreshToken";
+
+export interface AuthTokens {
+  token: string;
+  refreshToken: string;
+}
+
+const GAME_EVENTS: GameEventName[] = [
+  "raid-finished",
+  "raid-resolved",
+  "building-upgraded",
+  "wallet-changed",
+  "resync",
+];
+
+type GameEventListener = (name: GameEventName, data: unknown) => void;
+
+// One EventSource per tab, shared by every subscribed component
+let eventSource: EventSource | null = null;
+const eventListeners = new Set<GameEventListener>();
+
+function openEventSource(token: string): EventSource {
+  const source = new EventSource(
+    `${API_BASE}/events?access_token=${encodeURIComponent(token)}`
+  );
+  GAME_EVENTS.forEach((name) =>
+    source.addEventListener(name, (event) => {
+      const data = JSON.parse((event as MessageEvent).data);
+      eventListeners.forEach((listener) => listener(name, data));
+    })
+  );
+  return source;
+}
+
+function storeTokens(tokens: AuthTokens): void {
+  localStorage.setItem(ACCESS_TOKEN_KEY, tokens.token);
+  localStorage.setItem(REFRESH_TOKEN_KEY, tokens.refreshToken);
+  // The open stream was authorized with the old token and would fail on its next reconnect
+  if (eventSource) {
+    eventSource.close();
+    eventSource = openEventSource(tokens.token);
+  }
+}
+
+function clearTokens(): void {
+  localStorage.removeItem(ACCESS_TOKEN_KEY);
+  localStorage.removeItem(REFRESH_TOKEN_KEY);
+}
+
+// Concurrent 401s in one tab share a single refresh
+let refreshing: Promise<boolean> | null = null;
+
+function refreshAccessToken(): Promise<boolean> {
+  if (!refreshing) {
+    refreshing = rotateRefreshToken().finally(() => {
+      refreshing = null;
+    });
+  }
+  return refreshing;
+}
+
+async function rotateRefreshToken(): Promise<boolean> {
+  const refreshToken = localStorage.getItem(REFRESH_TOKEN_KEY);
+  if (!refreshToken) return false;
+  const response = await fetch(`${API_BASE}/auth/refresh`, {
+    method: "POST",
+    headers: { "Content-Type": "application/json" },
+    body: JSON.stringify({ refreshToken }),
+  }).catch(() => null);
+  if (response?.ok) {
+    storeTokens(await response.json());
+    return true;
+  }
+  // Refresh tokens are single use: another tab may have rotated this one and stored the successor
+  const latest = localStorage.getItem(REFRESH_TOKEN_KEY);
+  return latest !== null && latest !== refreshToken;
+}
+
 class ApiError extends Error {
   constructor(public status: number, message: string) {
     super(message);
@@ -20,11 +105,14 @@ class ApiError extends Error {
 
 async function apiCall<T>(
   endpoint: string,
-  options: RequestInit = {}
+  options: RequestInit = {},
+  retried = false
 ): Promise<T> {
   const url = `${API_BASE}${endpoint}`;
   const token =
-    typeof window !== "undefined" ? localStorage.getItem("jwtToken") : null;
+    typeof window !== "undefined"
+      ? localStorage.getItem(ACCESS_TOKEN_KEY)
+      : null;
 
   const baseHeaders: Record<string, string> = {
     "Content-Type": "application/json",
@@ -48,6 +136,17 @@ async function apiCall<T>(
       ...options,
     });
 
+    // An expired access token is renewed with the refresh token instead of a new password login
+    if (
+      (response.status === 401 || response.status === 403) &&
+      !retried &&
+      !endpoint.startsWith("/auth/") &&
+      typeof window !== "undefined" &&
+      (await refreshAccessToken())
+    ) {
+      return apiCall<T>(endpoint, options, true);
+    }
+
     if (!response.ok) {
       const errorData = await response
         .json()
@@ -55,9 +154,9 @@ async function apiCall<T>(
 
       // Handle 403 Forbidden specifically
       if (response.status === 403) {
-        // Clear invalid token
+        // Clear invalid tokens
         if (typeof window !== "undefined") {
-          localStorage.removeItem("jwtToken");
+          clearTokens();
         }
       }
 
@@ -81,24 +180,38 @@ export const api = {
   async auth(
     endpoint: string,
     data: { username: string; password: string }
-  ): Promise<{ token: string }> {
-    return apiCall<{ token: string }>(endpoint, {
+  ): Promise<AuthTokens> {
+    return apiCall<AuthTokens>(endpoint, {
       method: "POST",
       body: JSON.stringify(data),
     });
   },
 
-  // Logout (clear token from localStorage)
+  storeTokens(tokens: AuthTokens): void {
+    if (typeof window !== "undefined") {
+      storeTokens(tokens);
+    }
+  },
+
+  // Logout (revoke the refresh token and clear both tokens from localStorage)
   logout(): void {
     if (typeof window !== "undefined") {
-      localStorage.removeItem("jwtToken");
+      const refreshToken = localStorage.getItem(REFRESH_TOKEN_KEY);
+      if (refreshToken) {
+        fetch(`${API_BASE}/auth/logout`, {
+          method: "POST",
+          headers: { "Content-Type": "application/json" },
+          body: JSON.stringify({ refreshToken }),
+        }).catch(() => {});
+      }
+      clearTokens();
     }
   },
 
   // Check if user is authenticated
   isAuthenticated(): boolean {
     if (typeof window !== "undefined") {
-      return !!localStorage.getItem("jwtToken");
+      return !!localStorage.getItem(ACCESS_TOKEN_KEY);
     }
     return false;
   },
@@ -152,8 +265,55 @@ export const api = {
     return apiCall<Raid>(`/raids/${raidId}/resolve`, { method: "POST" });
   },
 
-  async getRaids(): Promise<Raid[]> {
-    return apiCall<Raid[]>("/raids");
+  // Several actions in one request; throws with the server's message when the batch was rolled back
+  async runActions(commands: ActionCommand[]): Promise<ActionBatchResponse> {
+    return apiCall<ActionBatchResponse>("/actions/batch", {
+      method: "POST",
+      body: JSON.stringify({ commands }),
+    });
+  },
+
+  // In-progress raids with full member details; history lives on the paginated GET /raids
+  async getActiveRaids(): Promise<Raid[]> {
+    return apiCall<Raid[]>("/raids/active");
+  },
+
+  // The player's raid record per map, kept up to date as raids resolve
+  async getRaidStats(): Promise<RaidStats> {
+    return apiCall<RaidStats>("/raids/stats");
+  },
+
+  // Top of a board, or the entries around the player with around = "me"
+  async getLeaderboard(
+    board: LeaderboardBoard,
+    options: { around?: "me"; fromRank?: number; limit?: number } = {}
+  ): Promise<LeaderboardPage> {
+    const params = new URLSearchParams({ board });
+    if (options.around) params.set("around", options.around);
+    if (options.fromRank) params.set("fromRank", String(options.fromRank));
+    if (options.limit) params.set("limit", String(options.limit));
+    return apiCall<LeaderboardPage>(`/leaderboard?${params}`);
+  },
+
+  // Game events pushed by the server; returns an unsubscribe function
+  subscribeEvents(listener: GameEventListener): () => void {
+    const token =
+      typeof window !== "undefined"
+        ? localStorage.getItem(ACCESS_TOKEN_KEY)
+        : null;
+    if (!token) return () => {};
+
+    eventListeners.add(listener);
+    if (!eventSource) {
+      eventSource = openEventSource(token);
+    }
+    return () => {
+      eventListeners.delete(listener);
+      if (eventListeners.size === 0 && eventSource) {
+        eventSource.close();
+        eventSource = null;
+      }
+    };
   },
 };
 
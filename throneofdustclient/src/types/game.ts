@@ -98,6 +98,11 @@ export interface PlayerState {
   gold: number;
   buildings: Building[];
   characters: GameCharacter[];
+  // Delta only: characters archived after `since`, to drop from local state
+  removedCharacterIds: number[];
+  // Player state version; `since` is set when buildings/characters only hold changes after it
+  version: number;
+  since?: number | null;
 }
 
 // Storage limits interface
@@ -124,6 +129,21 @@ export interface ErrorResponse {
   message: string;
 }
 
+// Server-sent events from /api/events
+export type GameEventName =
+  | "raid-finished"
+  | "raid-resolved"
+  | "building-upgraded"
+  | "wallet-changed"
+  | "resync";
+
+export interface WalletChangedEvent {
+  wood: number;
+  stone: number;
+  scrap: number;
+  gold: number;
+}
+
 // Request types
 export interface RecruitRequest {
   characterClass?: CharacterClass;
@@ -140,6 +160,64 @@ export interface AddTraitRequest {
   trait: TraitType;
 }
 
+// GET /raids/stats; the overall line has map = null, rates are fractions of resolved raids
+export interface RaidStatsLine {
+  map: RaidMapTemplate | null;
+  raids: number;
+  successes: number;
+  extractions: number;
+  betrayals: number;
+  casualties: number;
+  lootGold: number;
+  lootScrap: number;
+  successRate: number;
+  extractionRate: number;
+}
+
+export interface RaidStats {
+  maps: RaidStatsLine[];
+  overall: RaidStatsLine;
+}
+
+// GET /leaderboard; RAID_SUCCESS_RATE scores are basis points (10000 = 100%)
+export type LeaderboardBoard = "GOLD_LOOTED" | "RAID_SUCCESS_RATE" | "HIGHEST_LEVEL";
+
+export interface LeaderboardEntry {
+  rank: number;
+  username: string;
+  score: number;
+}
+
+export interface LeaderboardPage {
+  board: LeaderboardBoard;
+  total: number;
+  entries: LeaderboardEntry[];
+  me: LeaderboardEntry | null;
+}
+
+// POST /actions/batch: commands run in order in one transaction; the first rejection rolls back all of them
+export type ActionCommand =
+  | { type: "COLLECT" }
+  | { type: "UPGRADE"; buildingType: BuildingType }
+  | ({ type: "RECRUIT" } & RecruitRequest)
+  | ({ type: "START_RAID" } & StartRaidRequest)
+  | { type: "RESOLVE_RAID"; raidId: number }
+  | { type: "ADD_TRAIT"; characterId: number; trait: TraitType };
+
+export interface ActionResult {
+  type: ActionCommand["type"];
+  status: "APPLIED" | "REJECTED" | "ROLLED_BACK" | "SKIPPED";
+  // Name of the result variant, e.g. "Success", "InsufficientResources", "Raid", "ErrorResponse"
+  outcome: string | null;
+  result: unknown;
+}
+
+export interface ActionBatchResponse {
+  applied: boolean;
+  message: string | null;
+  results: ActionResult[];
+}
+
 // Map template data (matching backend enum values)
 export interface MapTemplateData {
   difficulty: MapDifficulty;